@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Сервер без веб-слоя на встроенной H2 (профиль test) для бенчмарков.
+ * <p>
+ * Свойства передаются как аргументы командной строки, чтобы перекрыть application.properties.
+ * Число SQL-запросов берется из статистики Hibernate, поэтому hibernate.generate_statistics включается явно.
+ */
+public class BenchmarkContext implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final Statistics statistics;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    public static BenchmarkContext start(Map<String, String> properties) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        // База живет, пока открыт пул соединений: close() ее удаляет, следующий запуск начинает с пустой
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:benchmark");
+        arguments.put("spring.main.banner-mode", "off");
+        arguments.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+        // В общих настройках сервера включены подробные логи транзакций, в замерах они только мешают
+        arguments.put("logging.level.root", "WARN");
+        arguments.put("logging.level.ru.practicum.shareit.benchmark", "INFO");
+        arguments.put("logging.level.org.springframework.orm.jpa", "WARN");
+        arguments.put("logging.level.org.springframework.transaction", "WARN");
+        arguments.put("logging.level.org.springframework.transaction.interceptor", "WARN");
+        arguments.put("logging.level.org.springframework.orm.jpa.JpaTransactionManager", "WARN");
+        // Сводки бронирований пересчитываются при заполнении данных, периодическая задача не нужна
+        arguments.put("shareit.booking.summary.refresh-delay", "86400000");
+        // Spans никуда не выгружаются, а при доле 0 и не записываются: замеры без накладных расходов трассировки
+        arguments.put("shareit.tracing.sample-ratio", "0");
+        arguments.putAll(properties);
+
+        String[] args = arguments.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new BenchmarkContext(new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args));
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public JdbcTemplate jdbc() {
+        return context.getBean(JdbcTemplate.class);
+    }
+
+    public TransactionTemplate transactions() {
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    /**
+     * @return - число подготовленных JDBC-запросов с момента запуска (пакетная вставка считается одним).
+     */
+    public long statementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
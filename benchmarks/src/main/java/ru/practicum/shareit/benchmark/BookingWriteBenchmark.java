@@ -0,0 +1,120 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.OptimisticLockingFailureException;
+import ru.practicum.shareit.booking.dto.BookingDtoInput;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Создание бронирований при 1, 8 и 64 одновременных клиентах в режимах shareit.booking.concurrency.mode.
+ * <p>
+ * Бронирования приходятся на hotItems "горячих" вещей, интервалы не пересекаются, поэтому
+ * отказать может только конфликт версий (OPTIMISTIC после исчерпания повторов) - такие операции
+ * считаются в conflicts, успешные - в booked. С одной вещью все клиенты конкурируют за один ключ,
+ * и разница режимов видна сильнее всего; с 16 вещами нагрузка размазана по ключам, как в обычном трафике.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingWriteBenchmark {
+
+    @Param({"OPTIMISTIC", "STRIPED"})
+    public String mode;
+
+    @Param("10000")
+    public int users;
+
+    @Param({"1", "16"})
+    public int hotItems;
+
+    private final AtomicLong slots = new AtomicLong();
+    private BenchmarkContext context;
+    private DataSeeder seeder;
+    private BookingService bookingService;
+    private LocalDateTime base;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long booked;
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            booked = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("shareit.booking.concurrency.mode", mode));
+        seeder = new DataSeeder(context.jdbc(), users);
+        seeder.seed(0);
+        context.jdbc().update("UPDATE items SET is_available = TRUE WHERE item_id <= ?", hotItems);
+        bookingService = context.getBean(BookingService.class);
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void addBooking1(Outcomes outcomes) {
+        addBooking(outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void addBooking8(Outcomes outcomes) {
+        addBooking(outcomes);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void addBooking64(Outcomes outcomes) {
+        addBooking(outcomes);
+    }
+
+    private void addBooking(Outcomes outcomes) {
+        // Каждая операция получает свой интервал, общий для всех вещей счетчик исключает пересечения
+        LocalDateTime start = base.plusHours(slots.incrementAndGet() * 2);
+        BookingDtoInput input = BookingDtoInput.builder()
+                .itemId(ThreadLocalRandom.current().nextLong(hotItems) + 1)
+                .start(start)
+                .end(start.plusHours(1))
+                .build();
+        try {
+            bookingService.addBooking(input, seeder.randomBookerId());
+            outcomes.booked++;
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Заполняет БД бенчмарка одним INSERT ... SELECT на таблицу (SYSTEM_RANGE в H2), минуя JPA.
+ * <p>
+ * Владельцы вещей - первые 10% пользователей, у каждого ITEMS_PER_OWNER вещей, остальные пользователи
+ * бронируют и комментируют. Бронирования поровну распределены по вещам и не пересекаются внутри вещи,
+ * примерно половина из них уже в прошлом.
+ */
+@Slf4j
+public class DataSeeder {
+    static final int ITEMS_PER_OWNER = 5;
+    static final int COMMENTS_PER_ITEM = 2;
+    static final String[] WORDS = {"дрель", "пила", "лестница", "палатка", "велосипед", "самокат",
+            "проектор", "шуруповерт"};
+
+    private final JdbcTemplate jdbc;
+    @Getter
+    private final int users;
+    @Getter
+    private final int owners;
+    @Getter
+    private final int items;
+
+    public DataSeeder(JdbcTemplate jdbc, int users) {
+        if (users < 10) {
+            throw new IllegalArgumentException("Для заполнения нужно не меньше 10 пользователей.");
+        }
+        this.jdbc = jdbc;
+        this.users = users;
+        this.owners = users / 10;
+        this.items = owners * ITEMS_PER_OWNER;
+    }
+
+    /**
+     * @param bookings - общее число бронирований, распределяется по вещам поровну.
+     */
+    public void seed(int bookings) {
+        long started = System.nanoTime();
+        jdbc.update(String.format("INSERT INTO users (user_id, user_name, email) "
+                + "SELECT X, CONCAT('user', X), CONCAT('user', X, '@mail.com') "
+                + "FROM SYSTEM_RANGE(1, %d)", users));
+        jdbc.update(String.format("INSERT INTO items (item_id, item_name, description, is_available, owner_id, "
+                + "version) "
+                + "SELECT X, CONCAT(%1$s, ' ', X), CONCAT('Описание: ', %1$s, ' модель ', MOD(X, 100)), "
+                + "MOD(X, 10) <> 0, MOD(X - 1, %2$d) + 1, 0 "
+                + "FROM SYSTEM_RANGE(1, %3$d)", word("X"), owners, items));
+        int perItem = Math.max(1, bookings / items);
+        jdbc.update(String.format("INSERT INTO bookings (booking_id, start_date, end_date, item_id, booker_id, "
+                + "status, version) "
+                + "SELECT X + 1, DATEADD('DAY', X / %1$d * 2 - %2$d, LOCALTIMESTAMP(0)), "
+                + "DATEADD('DAY', X / %1$d * 2 - %2$d + 1, LOCALTIMESTAMP(0)), MOD(X, %1$d) + 1, %3$s, "
+                + "CASE MOD(X, 4) WHEN 0 THEN 'WAITING' WHEN 3 THEN 'REJECTED' ELSE 'APPROVED' END, 0 "
+                + "FROM SYSTEM_RANGE(0, %4$d)", items, perItem, booker("X"), bookings - 1));
+        jdbc.update(String.format("INSERT INTO comments (comment_id, text, item_id, author_id, created) "
+                + "SELECT X + 1, CONCAT('Комментарий ', X), MOD(X, %1$d) + 1, %2$s, LOCALTIMESTAMP "
+                + "FROM SYSTEM_RANGE(0, %3$d)", items, booker("X * 31"), items * COMMENTS_PER_ITEM - 1));
+        // Сводки создаются устаревшими, как после миграции V10
+        jdbc.update("INSERT INTO item_booking_summary (item_id, bookings_count, valid_until) "
+                + "SELECT item_id, 0, TIMESTAMP '1970-01-01 00:00:00' FROM items");
+        restartIds("users", "user_id", "users_seq");
+        restartIds("items", "item_id", "items_seq");
+        restartIds("bookings", "booking_id", "bookings_seq");
+        restartIds("comments", "comment_id", "comments_seq");
+        log.info("Данные бенчмарка: {} пользователей, {} вещей, {} бронирований за {} мс.",
+                users, items, bookings, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public long randomOwnerId() {
+        return ThreadLocalRandom.current().nextLong(owners) + 1;
+    }
+
+    public long randomBookerId() {
+        return owners + ThreadLocalRandom.current().nextLong(users - owners) + 1;
+    }
+
+    public static String randomWord() {
+        return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+    }
+
+    // Id после заполнения продолжаются с запасом на размер пула последовательности (50),
+    // а счетчик identity сдвигается для сравнения со стратегией IDENTITY
+    private void restartIds(String table, String column, String sequence) {
+        Long max = jdbc.queryForObject(String.format("SELECT COALESCE(MAX(%s), 0) FROM %s", column, table),
+                Long.class);
+        long next = (max == null ? 0 : max) + 100;
+        jdbc.execute(String.format("ALTER SEQUENCE %s RESTART WITH %d", sequence, next));
+        jdbc.execute(String.format("ALTER TABLE %s ALTER COLUMN %s RESTART WITH %d", table, column, next));
+    }
+
+    private static String word(String index) {
+        StringBuilder sql = new StringBuilder("CASE MOD(").append(index).append(", ").append(WORDS.length).append(')');
+        for (int i = 0; i < WORDS.length; i++) {
+            sql.append(" WHEN ").append(i).append(" THEN '").append(WORDS[i]).append('\'');
+        }
+        return sql.append(" END").toString();
+    }
+
+    private String booker(String index) {
+        return String.format("%d + MOD(%s, %d) + 1", owners, index, users - owners);
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пакетная вставка бронирований и комментариев (ROWS строк в транзакции): id из последовательности
+ * (pooled, как в сервере) против identity-колонки, при которой Hibernate вставляет строки по одной.
+ * <p>
+ * Режим IDENTITY подключает META-INF/identity-ids-orm.xml. Результат - строк в секунду.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertBenchmark {
+    private static final int ROWS = 100;
+
+    @Param({"SEQUENCE", "IDENTITY"})
+    public String idGeneration;
+
+    @Param("10000")
+    public int users;
+
+    private BenchmarkContext context;
+    private DataSeeder seeder;
+    private TransactionTemplate transactions;
+    private EntityManager entityManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("IDENTITY".equals(idGeneration)
+                ? Map.of("spring.jpa.mapping-resources", "META-INF/identity-ids-orm.xml")
+                : Map.of());
+        seeder = new DataSeeder(context.jdbc(), users);
+        seeder.seed(0);
+        transactions = context.transactions();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertBookings(QueryCounter queries) {
+        queries.begin(context);
+        transactions.executeWithoutResult(status -> {
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(Booking.builder()
+                        .start(start.plusHours(i))
+                        .end(start.plusHours(i + 1))
+                        .item(entityManager.getReference(Item.class, randomItemId()))
+                        .booker(entityManager.getReference(User.class, seeder.randomBookerId()))
+                        .status(BookingStatus.WAITING)
+                        .build());
+            }
+        });
+        queries.end(context);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertComments(QueryCounter queries) {
+        queries.begin(context);
+        transactions.executeWithoutResult(status -> {
+            LocalDateTime created = LocalDateTime.now();
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(Comment.builder()
+                        .text("Комментарий " + i)
+                        .item(entityManager.getReference(Item.class, randomItemId()))
+                        .author(entityManager.getReference(User.class, seeder.randomBookerId()))
+                        .created(created)
+                        .build());
+            }
+        });
+        queries.end(context);
+    }
+
+    private long randomItemId() {
+        return ThreadLocalRandom.current().nextLong(seeder.getItems()) + 1;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoMapper;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDtoForOut;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование сущностей в DTO без БД и Spring: карточка предмета и бронирование.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private final ItemDtoMapper itemMapper = new ItemDtoMapper();
+    private final BookingDtoMapper bookingMapper = new BookingDtoMapper();
+
+    private Item item;
+    private BookingShort nextBooking;
+    private BookingShort lastBooking;
+    private List<CommentDto> comments;
+    private Booking booking;
+    private BookingView bookingView;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = new User(1L, "owner", "owner@mail.com");
+        User booker = new User(2L, "booker", "booker@mail.com");
+        ItemRequest request = new ItemRequest(1L, "нужна дрель", booker, now.minusDays(10));
+        item = new Item(1L, "дрель 1", "Описание: дрель модель 1", true, owner, request, 0L);
+
+        ItemBookingSummary summary = new ItemBookingSummary(item.getId());
+        summary.setNextBookingId(3L);
+        summary.setNextBookerId(booker.getId());
+        summary.setNextStart(now.plusDays(1));
+        summary.setLastBookingId(2L);
+        summary.setLastBookerId(booker.getId());
+        summary.setLastStart(now.minusDays(1));
+        nextBooking = summary.getNextBooking();
+        lastBooking = summary.getLastBooking();
+        comments = List.of(
+                new CommentDto(1L, "Комментарий 1", item.getId(), booker.getName(), now.minusDays(2)),
+                new CommentDto(2L, "Комментарий 2", item.getId(), booker.getName(), now.minusHours(3)));
+
+        booking = new Booking(3L, now.plusDays(1), now.plusDays(2), item, booker, BookingStatus.APPROVED, 0L);
+        bookingView = new BookingView(3L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED,
+                item.getId(), item.getName(), booker.getId());
+    }
+
+    @Benchmark
+    public ItemDtoForOut itemToDtoForOut() {
+        return itemMapper.itemToDtoForOut(item, nextBooking, lastBooking, comments);
+    }
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingDto viewToBookingDto() {
+        return bookingMapper.toBookingDto(bookingView);
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Число SQL-запросов как вторичная метрика JMH.
+ * <p>
+ * Счетчик выводится в тех же единицах, что и пропускная способность (запросов в секунду), поэтому
+ * запросов на одну операцию = statements / основной результат. Учитываются запросы всех потоков,
+ * для точного значения бенчмарк выполняется в одном потоке.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class QueryCounter {
+    public long statements;
+
+    private long started;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        statements = 0;
+    }
+
+    void begin(BenchmarkContext context) {
+        started = context.statementCount();
+    }
+
+    void end(BenchmarkContext context) {
+        statements += context.statementCount() - started;
+    }
+}
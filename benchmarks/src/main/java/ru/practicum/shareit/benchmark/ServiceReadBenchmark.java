@@ -0,0 +1,113 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoForOut;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.CustomPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Чтение через сервисы на заполненной H2: вещи владельца, поиск и бронирования вещей владельца.
+ * <p>
+ * Запросы идут от случайных пользователей, страницы и сортировки - как в контроллерах сервера.
+ * Сводки бронирований перед замером актуальны, как после работы периодической задачи.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ServiceReadBenchmark {
+    private static final int PAGE_SIZE = 10;
+
+    @Param("100000")
+    public int users;
+
+    @Param("1000000")
+    public int bookings;
+
+    @Param("false")
+    public boolean searchIndex;
+
+    private BenchmarkContext context;
+    private DataSeeder seeder;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("shareit.search.index.enabled", String.valueOf(searchIndex)));
+        seeder = new DataSeeder(context.jdbc(), users);
+        seeder.seed(bookings);
+
+        ItemBookingSummaryService summaryService = context.getBean(ItemBookingSummaryService.class);
+        LocalDateTime now = LocalDateTime.now();
+        int refreshed = 0;
+        int batch;
+        do {
+            batch = summaryService.refreshStale(now, 500);
+            refreshed += batch;
+        } while (batch > 0 && refreshed < seeder.getItems());
+        // Индекс строится при старте приложения, то есть до заполнения
+        context.getBean(ItemSearchIndex.class).build();
+
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDtoForOut> getAllItems(QueryCounter queries) {
+        queries.begin(context);
+        List<ItemDtoForOut> result = itemService.getAllItems(seeder.randomOwnerId(),
+                CustomPageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")));
+        queries.end(context);
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems(QueryCounter queries) {
+        queries.begin(context);
+        List<ItemDto> result = itemService.searchItems(DataSeeder.randomWord(),
+                CustomPageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.ASC, "id")));
+        queries.end(context);
+        return result;
+    }
+
+    @Benchmark
+    public List<BookingDto> getAllOwnerItemsBooking(QueryCounter queries) {
+        queries.begin(context);
+        List<BookingDto> result = bookingService.getAllOwnerItemsBooking(BookingState.ALL, seeder.randomOwnerId(),
+                CustomPageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "start")));
+        queries.end(context);
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск бенчмарков: java -jar benchmarks/target/benchmarks.jar [опции JMH].
+ * <p>
+ * Принимает те же опции, что и org.openjdk.jmh.Main. Если профилировщики не заданы, подключается
+ * GCProfiler (скорость выделения памяти, gc.alloc.rate.norm - байт на операцию); если не задан файл
+ * результатов, они сохраняются в jmh-result.json для сравнения между сборками.
+ * Объем данных задается параметрами, например: -p users=10000 -p bookings=100000.
+ */
+public class ShareItBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result("jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.util.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Трассировка запросов шлюза и сервера (OpenTelemetry SDK): контекст передается между ними в заголовке
+ * W3C traceparent, spans выгружаются по shareit.tracing.exporter в OTLP-коллектор или в файл.
+ * Spans внутри приложения добавляют его собственные настройки: TracingAspect в сервере,
+ * TracingWebFilter и span обращения к серверу в BaseClient в шлюзе.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+@Slf4j
+public class TracingConfig {
+    public static final String INSTRUMENTATION = "ru.practicum.shareit";
+
+    @Bean(destroyMethod = "close")
+    public OpenTelemetrySdk openTelemetry(TracingProperties properties) {
+        Resource resource = Resource.getDefault().merge(Resource.create(
+                Attributes.of(AttributeKey.stringKey("service.name"), properties.getServiceName())));
+        SdkTracerProviderBuilder tracerProvider = SdkTracerProvider.builder()
+                .setResource(resource)
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(properties.getSampleRatio())));
+        SpanExporter exporter = exporter(properties);
+        if (exporter != null) {
+            tracerProvider.addSpanProcessor(BatchSpanProcessor.builder(exporter).build());
+        }
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider.build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<TracingFilter> tracingFilter(OpenTelemetry openTelemetry) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+                new TracingFilter(openTelemetry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static SpanExporter exporter(TracingProperties properties) {
+        switch (properties.getExporter()) {
+            case OTLP:
+                log.info("Spans выгружаются в OTLP-коллектор {}.", properties.getOtlpEndpoint());
+                return OtlpHttpSpanExporter.builder()
+                        .setEndpoint(properties.getOtlpEndpoint())
+                        .build();
+            case FILE:
+                log.info("Spans выгружаются в файл {}.", properties.getFile().toAbsolutePath());
+                return new FileSpanExporter(properties.getFile());
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.util.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Настройки трассировки (OpenTelemetry).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.tracing")
+public class TracingProperties {
+    // Имя сервиса в spans (атрибут ресурса service.name), задается в настройках шлюза и сервера
+    private String serviceName = "shareit";
+    // Куда выгружаются spans; при none контекст трассировки только передается дальше
+    private Exporter exporter = Exporter.NONE;
+    // Адрес OTLP/HTTP коллектора
+    private String otlpEndpoint = "http://localhost:4318/v1/traces";
+    // Файл для exporter=file, по одному span в строке JSON
+    private Path file = Path.of("traces.jsonl");
+    // Доля новых трасс, которые записываются; для входящего traceparent решение принимает вызывающая сторона
+    private double sampleRatio = 1.0;
+
+    public enum Exporter {
+        NONE,
+        OTLP,
+        FILE
+    }
+}
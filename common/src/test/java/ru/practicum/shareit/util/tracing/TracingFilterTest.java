@@ -0,0 +1,87 @@
+package ru.practicum.shareit.util.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingFilterTest {
+    static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    static final String PARENT_ID = "00f067aa0ba902b7";
+
+    InMemorySpanExporter exporter;
+    OpenTelemetrySdk openTelemetry;
+    TracingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = InMemorySpanExporter.create();
+        openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+        filter = new TracingFilter(openTelemetry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        openTelemetry.close();
+    }
+
+    @Test
+    void continuesIncomingTrace() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/owner");
+        request.addHeader("traceparent", "00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] currentTraceId = new String[1];
+
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse) {
+                currentTraceId[0] = Span.current().getSpanContext().getTraceId();
+                servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings/owner");
+            }
+        });
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        SpanData span = spans.get(0);
+        assertEquals(TRACE_ID, span.getTraceId());
+        assertEquals(PARENT_ID, span.getParentSpanId());
+        assertEquals(TRACE_ID, currentTraceId[0]);
+        assertEquals(SpanKind.SERVER, span.getKind());
+        assertEquals("GET /bookings/owner", span.getName());
+    }
+
+    @Test
+    void startsNewTraceWithoutHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertEquals(1, spans.size());
+        assertFalse(spans.get(0).getParentSpanContext().isValid());
+        assertEquals("GET", spans.get(0).getName());
+    }
+}
@@ -1,16 +1,18 @@
 package ru.practicum.shareit.booking;
 
+import io.opentelemetry.api.OpenTelemetry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerExchangeFactory;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,16 +20,22 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         ShareItServerExchangeFactory exchangeFactory,
+                         OpenTelemetry openTelemetry) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX), openTelemetry);
     }
 
-    public ResponseEntity<Object> getAllUserBookings(long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllUserBookings(long userId, BookingState state, Integer from, Integer size,
+                                                           String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", state.name(),
+                    "after", after,
+                    "size", size
+            );
+            return get("?state={state}&after={after}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -36,19 +44,28 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addBooking(long userId, BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> addBooking(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> bookingApprove(Long bookingId, Long userId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> bookingApprove(Long bookingId, Long userId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId, null, null);
     }
 
-    public ResponseEntity<Object> getAllUserItemsBooking(String stateValue, Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllUserItemsBooking(String stateValue, Long userId, int from, int size,
+                                                               String after) {
+        if (after != null) {
+            Map<String, Object> parameter = Map.of(
+                    "state", stateValue,
+                    "after", after,
+                    "size", size
+            );
+            return get("/owner?state={state}&after={after}&size={size}", userId, parameter);
+        }
         Map<String, Object> parameter = Map.of(
                 "state", stateValue,
                 "from", from,
@@ -56,4 +73,20 @@ public class BookingClient extends BaseClient {
         );
         return get("/owner?state={state}&from={from}&size={size}", userId, parameter);
     }
+
+    public Mono<ResponseEntity<Object>> exportAllUserItemsBooking(String stateValue, Long userId,
+                                                                  LocalDateTime from, LocalDateTime to) {
+        StringBuilder path = new StringBuilder("/owner/export?state={state}");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", stateValue);
+        if (from != null) {
+            path.append("&from={from}");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            path.append("&to={to}");
+            parameters.put("to", to);
+        }
+        return get(path.toString(), userId, parameters);
+    }
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Тело, которое шлюз передает потоком, не собирая в памяти: ответ сервера клиенту или запрос клиента серверу.
+ * <p>
+ * Отдельный тип нужен, чтобы тело записывалось как есть при объявленном в контроллерах ResponseEntity&lt;Object&gt;:
+ * Spring MVC пишет его через RelayedBodyHttpMessageConverter, WebFlux - через RelayedBodyHttpMessageWriter.
+ * Параметр контроллера этого типа получает тело запроса (RelayedBodyArgumentResolver
+ * и RelayedBodyReactiveArgumentResolver); ShareItServerExchange отправляет его на сервер потоком.
+ */
+public class RelayedBody {
+    private final Flux<DataBuffer> content;
+
+    public RelayedBody(Flux<DataBuffer> content) {
+        this.content = content;
+    }
+
+    /**
+     * @return - части тела; подписаться можно один раз, буферы освобождает подписчик.
+     */
+    public Flux<DataBuffer> getContent() {
+        return content;
+    }
+
+    /**
+     * Копирует части тела в поток по мере поступления, ожидая их в текущем потоке.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(out);
+        for (DataBuffer buffer : content.toIterable(1)) {
+            try {
+                channel.write(buffer.asByteBuffer());
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Тело запроса Spring MVC как RelayedBody: поток запроса читается частями по мере отправки на сервер,
+ * а не собирается в массив заранее.
+ */
+public class RelayedBodyArgumentResolver implements HandlerMethodArgumentResolver {
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return RelayedBody.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, @Nullable ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, @Nullable WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return new RelayedBody(DataBufferUtils.readInputStream(request::getInputStream,
+                DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE));
+    }
+}
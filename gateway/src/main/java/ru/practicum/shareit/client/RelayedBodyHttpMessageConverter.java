@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Запись RelayedBody в ответ Spring MVC: части тела копируются в поток ответа по мере поступления
+ * и сразу отправляются клиенту. Поток обработки запроса ждет части тела, как и при блокирующем клиенте.
+ */
+public class RelayedBodyHttpMessageConverter implements HttpMessageConverter<RelayedBody> {
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return RelayedBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return List.of(MediaType.ALL);
+    }
+
+    @Override
+    public RelayedBody read(Class<? extends RelayedBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("RelayedBody только записывается.", inputMessage);
+    }
+
+    @Override
+    public void write(RelayedBody body, @Nullable MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        if (outputMessage.getHeaders().getContentType() == null && contentType != null && contentType.isConcrete()) {
+            outputMessage.getHeaders().setContentType(contentType);
+        }
+        body.writeTo(outputMessage.getBody());
+    }
+}
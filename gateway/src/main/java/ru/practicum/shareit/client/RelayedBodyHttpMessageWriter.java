@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Запись RelayedBody в ответ WebFlux: части тела передаются в ответ без копирования и без ограничения
+ * на размер, в отличие от чтения всего тела в память (spring.codec.max-in-memory-size).
+ */
+public class RelayedBodyHttpMessageWriter implements HttpMessageWriter<RelayedBody> {
+
+    @Override
+    public List<MediaType> getWritableMediaTypes() {
+        return List.of(MediaType.ALL);
+    }
+
+    @Override
+    public boolean canWrite(ResolvableType elementType, @Nullable MediaType mediaType) {
+        return RelayedBody.class.isAssignableFrom(elementType.toClass());
+    }
+
+    @Override
+    public Mono<Void> write(Publisher<? extends RelayedBody> inputStream, ResolvableType elementType,
+                            @Nullable MediaType mediaType, ReactiveHttpOutputMessage message,
+                            Map<String, Object> hints) {
+        if (message.getHeaders().getContentType() == null && mediaType != null && mediaType.isConcrete()) {
+            message.getHeaders().setContentType(mediaType);
+        }
+        return Mono.from(inputStream)
+                .flatMap(body -> message.writeWith(body.getContent()));
+    }
+}
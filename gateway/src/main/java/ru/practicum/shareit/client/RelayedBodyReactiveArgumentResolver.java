@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Тело запроса WebFlux как RelayedBody: части тела передаются на сервер по мере поступления,
+ * без декодера и его ограничения на размер (spring.codec.max-in-memory-size).
+ */
+public class RelayedBodyReactiveArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return RelayedBody.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Mono<Object> resolveArgument(MethodParameter parameter, BindingContext bindingContext,
+                                        ServerWebExchange exchange) {
+        return Mono.just(new RelayedBody(exchange.getRequest().getBody()));
+    }
+}
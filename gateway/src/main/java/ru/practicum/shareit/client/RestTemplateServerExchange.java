@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Блокирующая отправка через RestTemplate: запрос выполняется в потоке, подписавшемся на результат,
+ * то есть в потоке обработки входящего запроса. Тело ответа не читается целиком, а передается клиенту
+ * потоком (RelayedBody); соединение закрывается после записи тела. Тело запроса RelayedBody тоже отправляется
+ * потоком: через фабрику без буфера тела и мимо перехватчиков RestTemplate, которые собирают тело в памяти.
+ */
+public class RestTemplateServerExchange implements ShareItServerExchange {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final RestTemplate rest;
+    private final ClientHttpRequestFactory streamingRequestFactory;
+
+    public RestTemplateServerExchange(RestTemplate rest, ClientHttpRequestFactory streamingRequestFactory) {
+        this.rest = rest;
+        this.streamingRequestFactory = streamingRequestFactory;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, new HttpEntity<>(body, headers), parameters));
+    }
+
+    // RestTemplate.exchange/execute закрывают ответ до возврата, поэтому запрос выполняется напрямую
+    // через фабрику шаблона (с ее перехватчиками и корневым URI); ответы с любым статусом передаются как есть
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpEntity<Object> requestEntity,
+                                        @Nullable Map<String, Object> parameters) throws IOException {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of());
+        ClientHttpRequest request;
+        if (requestEntity.getBody() instanceof RelayedBody) {
+            request = streamingRequestFactory.createRequest(uri, method);
+            request.getHeaders().putAll(requestEntity.getHeaders());
+            writeBody(request, (RelayedBody) requestEntity.getBody());
+        } else {
+            request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+        }
+        ClientHttpResponse response = request.execute();
+        try {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(ShareItServerExchange.relayedHeaders(response.getHeaders()))
+                    .body(new RelayedBody(DataBufferUtils
+                            .readInputStream(response::getBody, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE)
+                            .doFinally(signal -> response.close())));
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    private static void writeBody(ClientHttpRequest request, RelayedBody body) throws IOException {
+        if (request instanceof StreamingHttpOutputMessage) {
+            ((StreamingHttpOutputMessage) request).setBody(body::writeTo);
+        } else {
+            body.writeTo(request.getBody());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Отправка запроса на сервер shareit и получение ответа для передачи клиенту шлюза.
+ * Ответы сервера с любым статусом возвращаются как есть: тело с исходным Content-Type, без разбора
+ * и повторной сериализации JSON, потоком RelayedBody. Ошибкой завершается только сбой соединения.
+ */
+public interface ShareItServerExchange {
+
+    /**
+     * @param method     - HTTP-метод.
+     * @param path       - путь относительно базового адреса клиента, может быть шаблоном.
+     * @param headers    - заголовки запроса.
+     * @param parameters - значения переменных шаблона пути.
+     * @param body       - тело запроса; RelayedBody отправляется потоком, остальное сериализуется в JSON.
+     * @return - ответ сервера.
+     */
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    /**
+     * Заголовки ответа сервера, которые шлюз передает клиенту вместе с телом.
+     * Длину и способ передачи тела шлюз выставляет сам.
+     */
+    static HttpHeaders relayedHeaders(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            headers.addAll(serverHeaders);
+        }
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.remove(HttpHeaders.CONNECTION);
+        return headers;
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Создает ShareItServerExchange для клиента с заданным базовым адресом.
+ * Реализация выбирается свойством shareit-server.client: blocking или reactive.
+ */
+@FunctionalInterface
+public interface ShareItServerExchangeFactory {
+    ShareItServerExchange create(String baseUrl);
+}
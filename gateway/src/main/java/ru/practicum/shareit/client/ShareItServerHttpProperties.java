@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки пула HTTP-соединений шлюза с сервером shareit.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ShareItServerHttpProperties {
+    // Всего соединений в пуле
+    private int maxTotal = 200;
+    // Соединений на один хост; шлюз ходит только на сервер, поэтому близко к maxTotal
+    private int maxPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    // Ожидание свободного соединения из пула
+    private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+    // Простаивающие дольше соединения закрываются фоновым потоком
+    private Duration idleEviction = Duration.ofSeconds(30);
+    // Верхняя граница keep-alive, если сервер не прислал свою
+    private Duration keepAlive = Duration.ofSeconds(60);
+    // Соединение, простоявшее дольше, проверяется перед повторным использованием
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
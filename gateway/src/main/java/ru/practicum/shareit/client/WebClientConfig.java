@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Неблокирующий клиент шлюза к серверу shareit (shareit-server.client=reactive).
+ * Пул соединений Reactor Netty настраивается теми же свойствами shareit-server.http.*.
+ */
+@Configuration
+@EnableConfigurationProperties(ShareItServerHttpProperties.class)
+@ConditionalOnProperty(name = "shareit-server.client", havingValue = "reactive")
+public class WebClientConfig {
+
+    // reactor.netty.connection.provider.* в /actuator/metrics
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(ShareItServerHttpProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getPoolAcquireTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .maxLifeTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ShareItServerExchangeFactory webClientExchangeFactory(WebClient.Builder builder,
+                                                                 ConnectionProvider connectionProvider,
+                                                                 ShareItServerHttpProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        return baseUrl -> new WebClientServerExchange(builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(connector)
+                .build());
+    }
+}
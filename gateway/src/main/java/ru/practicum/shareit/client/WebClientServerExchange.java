@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Неблокирующая отправка через WebClient: пока сервер отвечает, поток не занят.
+ * Тело ответа не читается целиком, а передается клиенту потоком (RelayedBody).
+ */
+public class WebClientServerExchange implements ShareItServerExchange {
+    private final WebClient webClient;
+
+    public WebClientServerExchange(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> spec;
+        if (body instanceof RelayedBody) {
+            spec = request.body(((RelayedBody) body).getContent(), DataBuffer.class);
+        } else {
+            spec = body != null ? request.bodyValue(body) : request;
+        }
+        return spec.retrieve()
+                // Ответы с любым статусом передаются клиенту, а не превращаются в WebClientResponseException
+                .onRawStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ResponseEntity.status(response.getStatusCodeValue())
+                        .headers(ShareItServerExchange.relayedHeaders(response.getHeaders()))
+                        .body(new RelayedBody(response.getBody())));
+    }
+}
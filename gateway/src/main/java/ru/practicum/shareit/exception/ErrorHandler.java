@@ -7,6 +7,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 
 import javax.validation.ConstraintViolationException;
 
@@ -50,6 +53,20 @@ public class ErrorHandler {
         return new ErrorResponse("Неверное состояние бронирования в запросе.", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse resourceAccessException(ResourceAccessException e) {
+        log.warn("Сервер недоступен. {}", e.getMessage());
+        return new ErrorResponse("Сервер недоступен.", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse webClientRequestException(WebClientRequestException e) {
+        log.warn("Сервер недоступен. {}", e.getMessage());
+        return new ErrorResponse("Сервер недоступен.", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse generalException(Throwable e) {
@@ -64,6 +81,13 @@ public class ErrorHandler {
         return new ErrorResponse("Ошибка валидации.", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse webExchangeBindException(WebExchangeBindException e) {
+        log.warn("Ошибка валидации. {}", e.getMessage());
+        return new ErrorResponse("Ошибка валидации.", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse constraintViolationException(ConstraintViolationException e) {
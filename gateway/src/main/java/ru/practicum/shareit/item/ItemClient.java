@@ -1,13 +1,15 @@
 package ru.practicum.shareit.item;
 
+import io.opentelemetry.api.OpenTelemetry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RelayedBody;
+import ru.practicum.shareit.client.ShareItServerExchangeFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -18,28 +20,29 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      ShareItServerExchangeFactory exchangeFactory,
+                      OpenTelemetry openTelemetry) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX), openTelemetry);
     }
 
-    public ResponseEntity<Object> addNewItem(ItemDto itemDto, Long userId) {
+    public Mono<ResponseEntity<Object>> addNewItem(ItemDto itemDto, Long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemDto itemDto, Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> saveItems(RelayedBody items, MediaType contentType, Long userId) {
+        return post("/bulk", userId, contentType, items);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemDto itemDto, Long itemId, Long userId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> getItem(Long itemId, Long userId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllItems(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItems(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -47,7 +50,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text, Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -57,7 +60,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long itemId, Long userId, CommentDto comment) {
+    public Mono<ResponseEntity<Object>> addComment(Long itemId, Long userId, CommentDto comment) {
         return post("/" + itemId + "/comment", userId, comment);
     }
 }
@@ -2,9 +2,13 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.RelayedBody;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.OnCreate;
@@ -28,13 +32,32 @@ public class ItemController {
      * @return - добавленный предмет.
      */
     @PostMapping
-    public ResponseEntity<Object> addNewItem(@RequestBody @Validated({OnCreate.class}) ItemDto itemDto,
-                                             @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+    public Mono<ResponseEntity<Object>> addNewItem(@RequestBody @Validated({OnCreate.class}) ItemDto itemDto,
+                                                   @RequestHeader("X-Sharer-User-Id") Long ownerId) {
         log.info("=== Call 'addNewItem' with itemDto {}, ownerId {}.",
                 itemDto, ownerId);
         return client.addNewItem(itemDto, ownerId);
     }
 
+    /**
+     * Добавляет и обновляет предметы пачкой. Тело (JSON-массив или NDJSON) передается на сервер потоком
+     * без разбора и без сборки в памяти, проверка строк выполняется сервером, и результат возвращается
+     * по каждой строке отдельно.
+     *
+     * @param items       - массив ItemDto в формате JSON или по одному ItemDto в строке в формате NDJSON.
+     * @param contentType - формат тела запроса.
+     * @param ownerId     - id собственника предметов.
+     * @return - результаты по строкам в исходном порядке.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Object>> saveItems(RelayedBody items,
+                                                  @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                  @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        log.info("=== Call 'saveItems' with {}, ownerId {}.",
+                contentType, ownerId);
+        return client.saveItems(items, contentType, ownerId);
+    }
+
     /**
      * Обновляет данные предмета.
      *
@@ -44,9 +67,9 @@ public class ItemController {
      * @return - предмет с обновленными данными.
      */
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@Validated @RequestBody ItemDto itemDto,
-                                             @PathVariable Long itemId,
-                                             @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+    public Mono<ResponseEntity<Object>> updateItem(@Validated @RequestBody ItemDto itemDto,
+                                                   @PathVariable Long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") Long ownerId) {
         log.info("=== Call 'updateItem' with itemDto {}, itemId {}, ownerId {}.",
                 itemDto, itemId, ownerId);
         return client.updateItem(itemDto, itemId, ownerId);
@@ -60,8 +83,8 @@ public class ItemController {
      * @return - предмет в формате ItemDto.
      */
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@PathVariable Long itemId,
-                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getItem(@PathVariable Long itemId,
+                                                @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("=== Call 'getItem' with itemId {} and userId {}.",
                 itemId, userId);
         return client.getItem(itemId, userId);
@@ -74,11 +97,11 @@ public class ItemController {
      * @return - список предметов пользователя.
      */
     @GetMapping
-    public ResponseEntity<Object> getAllItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                              @PositiveOrZero
-                                              @RequestParam(value = "from", defaultValue = "0") int from,
-                                              @Positive
-                                              @RequestParam(value = "size", defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getAllItems(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                    @PositiveOrZero
+                                                    @RequestParam(value = "from", defaultValue = "0") int from,
+                                                    @Positive
+                                                    @RequestParam(value = "size", defaultValue = "10") int size) {
         log.info("=== Call 'getItems' with ownerId {}, from {}, size{}.",
                 ownerId, from, size);
         return client.getAllItems(ownerId, from, size);
@@ -92,21 +115,21 @@ public class ItemController {
      * @return - список найденных предметов.
      */
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam(value = "text") String text,
-                                              @RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @PositiveOrZero
-                                              @RequestParam(value = "from", defaultValue = "0") int from,
-                                              @Positive
-                                              @RequestParam(value = "size", defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam(value = "text") String text,
+                                                    @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @PositiveOrZero
+                                                    @RequestParam(value = "from", defaultValue = "0") int from,
+                                                    @Positive
+                                                    @RequestParam(value = "size", defaultValue = "10") int size) {
         log.info("=== Call 'searchItems' with text {}, userId {}, from {} and size {}",
                 text, userId, from, size);
         return client.searchItems(text, userId, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable(name = "itemId") Long itemId,
-                                             @RequestHeader("X-Sharer-User-Id") Long userId,
-                                             @RequestBody @Valid CommentDto comment) {
+    public Mono<ResponseEntity<Object>> addComment(@PathVariable(name = "itemId") Long itemId,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestBody @Valid CommentDto comment) {
         log.info("=== Call 'addComment' with itemId {}, userId {}, text {}.",
                 itemId, userId, comment);
         return client.addComment(itemId, userId, comment);
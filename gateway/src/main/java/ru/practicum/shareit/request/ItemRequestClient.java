@@ -1,13 +1,13 @@
 package ru.practicum.shareit.request;
 
+import io.opentelemetry.api.OpenTelemetry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ShareItServerExchangeFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,24 +17,29 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             ShareItServerExchangeFactory exchangeFactory,
+                             OpenTelemetry openTelemetry) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX), openTelemetry);
     }
 
-    public ResponseEntity<Object> addNewRequest(ItemRequestDto requestDto, Long userId) {
+    public Mono<ResponseEntity<Object>> addNewRequest(ItemRequestDto requestDto, Long userId) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getAllOwnRequests(Long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getAllOwnRequests(Long userId, Integer from, Integer size) {
+        // Без size сервер возвращает все запросы пользователя
+        if (size == null) {
+            return get("", userId);
+        }
+        Map<String, Object> parameter = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameter);
     }
 
-    public ResponseEntity<Object> getAllPaging(Integer from, Integer size, Long userId) {
+    public Mono<ResponseEntity<Object>> getAllPaging(Integer from, Integer size, Long userId) {
         Map<String, Object> parameter = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +47,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameter);
     }
 
-    public ResponseEntity<Object> getById(Long reqestId, Long userId) {
+    public Mono<ResponseEntity<Object>> getById(Long reqestId, Long userId) {
         return get("/" + reqestId, userId);
     }
 }
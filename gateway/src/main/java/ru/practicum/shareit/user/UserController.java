@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.OnCreate;
 import ru.practicum.shareit.util.OnUpdate;
@@ -24,7 +25,7 @@ public class UserController {
      * @return - пользователь.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable Long id) {
         log.info("=== Call 'getUser' with id {}",
                 id);
         return client.getUser(id);
@@ -36,7 +37,7 @@ public class UserController {
      * @return - список всех пользователей.
      */
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("=== Call 'getAllUsers'.");
         return client.getAllUsers();
     }
@@ -48,7 +49,7 @@ public class UserController {
      * @return - добавленный пользователь в формате UserDto.
      */
     @PostMapping
-    public ResponseEntity<Object> addUser(@RequestBody @Validated({OnCreate.class}) UserDto userDto) {
+    public Mono<ResponseEntity<Object>> addUser(@RequestBody @Validated({OnCreate.class}) UserDto userDto) {
         log.info("=== Call 'addUser' with userDto {}",
                 userDto);
         return client.addUser(userDto);
@@ -62,8 +63,8 @@ public class UserController {
      * @return - пользователь с обновленными данными.
      */
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody @Validated({OnUpdate.class}) UserDto userDto,
-                                             @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody @Validated({OnUpdate.class}) UserDto userDto,
+                                                   @PathVariable Long userId) {
         log.info("=== Call 'updateUser' with userDto {}, userId {}",
                 userDto,
                 userId);
@@ -76,7 +77,7 @@ public class UserController {
      * @param id - id пользователя для удаления.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long id) {
         log.info("=== Call 'deleteUser' with id {}",
                 id);
         return client.deleteUser(id);
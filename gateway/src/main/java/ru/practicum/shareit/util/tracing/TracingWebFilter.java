@@ -0,0 +1,89 @@
+package ru.practicum.shareit.util.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Серверный span на каждый запрос к шлюзу в реактивном режиме. Запрос обрабатывается в разных потоках,
+ * поэтому контекст трассировки передается не через поток, а в контексте Reactor под ключом Context.class;
+ * оттуда его берет BaseClient.
+ */
+public class TracingWebFilter implements WebFilter, Ordered {
+    private static final TextMapGetter<HttpHeaders> HEADERS = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(HttpHeaders headers) {
+            return headers.keySet();
+        }
+
+        @Override
+        public String get(@Nullable HttpHeaders headers, String key) {
+            return headers != null ? headers.getFirst(key) : null;
+        }
+    };
+
+    private final Tracer tracer;
+    private final TextMapPropagator propagator;
+
+    public TracingWebFilter(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(TracingConfig.INSTRUMENTATION);
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Context parent = propagator.extract(Context.root(), request.getHeaders(), HEADERS);
+        Span span = tracer.spanBuilder(request.getMethodValue())
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("http.request.method", request.getMethodValue())
+                .setAttribute("url.path", request.getPath().value())
+                .startSpan();
+        Context context = parent.with(span);
+        return chain.filter(exchange)
+                .doOnError(e -> {
+                    span.recordException(e);
+                    span.setStatus(StatusCode.ERROR);
+                })
+                .doFinally(signal -> end(span, exchange))
+                .contextWrite(reactorContext -> reactorContext.put(Context.class, context));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static void end(Span span, ServerWebExchange exchange) {
+        Object route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            span.updateName(exchange.getRequest().getMethodValue() + " " + route);
+            span.setAttribute("http.route", route.toString());
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        Integer status = response.getRawStatusCode();
+        if (status != null) {
+            span.setAttribute("http.response.status_code", status);
+            if (status >= 500) {
+                span.setStatus(StatusCode.ERROR);
+            }
+        }
+        span.end();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.util.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Трассировка шлюза в реактивном режиме; общие настройки (OpenTelemetry SDK, TracingFilter) - в TracingConfig.
+ */
+@Configuration
+public class TracingWebFilterConfig {
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public TracingWebFilter tracingWebFilter(OpenTelemetry openTelemetry) {
+        return new TracingWebFilter(openTelemetry);
+    }
+}
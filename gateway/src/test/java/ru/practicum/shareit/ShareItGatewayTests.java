@@ -0,0 +1,22 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ShareItGatewayTests {
+    @Value("${shareit-server.url}")
+    String serverUrl;
+    @Value("${shareit-server.client}")
+    String client;
+
+    @Test
+    void contextLoads() {
+        // Настройки по умолчанию application.properties действуют без активных профилей
+        assertEquals("http://localhost:9090", serverUrl);
+        assertEquals("blocking", client);
+    }
+}
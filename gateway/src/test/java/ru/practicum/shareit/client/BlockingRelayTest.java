@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BlockingRelayTest {
+    static final StubShareItServer server = StubShareItServer.start();
+
+    @Autowired
+    WebTestClient webTestClient;
+    WebTestClient client;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", server::url);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Ограничение на размер тела снимается только у тестового клиента, шлюз тело не буферизует
+        client = webTestClient.mutate()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build();
+    }
+
+    @Test
+    void relaysLargeBody() {
+        byte[] body = client.get()
+                .uri("/bookings/owner/export")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertArrayEquals(server.export(), body);
+    }
+
+    @Test
+    void relaysLargeRequestBody() {
+        byte[] body = client.post()
+                .uri("/items/bulk")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(server.export())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertArrayEquals(server.export(), body);
+    }
+
+    @Test
+    void relaysErrorStatus() {
+        client.get()
+                .uri("/users/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.error").isEqualTo("Пользователь не найден.");
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Заглушка сервера shareit для тестов шлюза: выгрузка бронирований - NDJSON больше лимита
+ * буфера кодеков WebFlux (256 КБ), загрузка предметов пачкой возвращает полученное тело с его Content-Type,
+ * пользователи не находятся (404).
+ */
+class StubShareItServer {
+    static final int EXPORT_LINES = 20_000;
+
+    private final HttpServer server;
+    private final byte[] export;
+
+    private StubShareItServer(HttpServer server) {
+        this.server = server;
+        StringBuilder lines = new StringBuilder();
+        for (int i = 1; i <= EXPORT_LINES; i++) {
+            lines.append("{\"id\":").append(i).append(",\"status\":\"APPROVED\"}\n");
+        }
+        this.export = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static StubShareItServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            StubShareItServer stub = new StubShareItServer(server);
+            server.createContext("/bookings/owner/export", exchange -> stub.respond(exchange, 200,
+                    "application/x-ndjson", stub.export));
+            server.createContext("/items/bulk", exchange -> stub.respond(exchange, 200,
+                    exchange.getRequestHeaders().getFirst("Content-Type"), exchange.getRequestBody().readAllBytes()));
+            server.createContext("/users", exchange -> stub.respond(exchange, 404, "application/json",
+                    "{\"error\":\"Пользователь не найден.\"}".getBytes(StandardCharsets.UTF_8)));
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    byte[] export() {
+        return export;
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    // Тело передается частями (chunked), как потоковая выгрузка сервера
+    private void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.load;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Данные для сценария, созданные через API до замера, и состояние, которое сценарий накапливает.
+ * <p>
+ * Первая пятая часть пользователей - владельцы вещей, остальные бронируют. Для комментариев заранее
+ * создаются завершенные подтвержденные бронирования (как в postman-коллекции: короткое бронирование
+ * и ожидание его окончания). Бронирования под нагрузкой начинаются через сутки и получают
+ * непересекающиеся интервалы, поэтому не отклоняются из-за пересечения.
+ */
+public class Fixture {
+    static final String[] WORDS = {"дрель", "пила", "лестница", "палатка", "велосипед", "самокат",
+            "проектор", "шуруповерт"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final int COMMENTED_ITEMS = 50;
+
+    private final List<Long> owners = new ArrayList<>();
+    private final List<Long> bookers = new ArrayList<>();
+    private final List<Long> items = new ArrayList<>();
+    private final List<Long> itemOwners = new ArrayList<>();
+    // Пары (вещь, автор), для которых разрешен комментарий
+    private final List<long[]> commentable = new ArrayList<>();
+    // Ожидающие подтверждения бронирования (id, владелец вещи)
+    private final Queue<long[]> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong slots = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long runId = System.currentTimeMillis();
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    public static Fixture create(ShareItApi api, LoadSettings settings) throws InterruptedException {
+        Fixture fixture = new Fixture();
+        int ownerCount = Math.max(1, settings.getFixtureUsers() / 5);
+        for (int i = 0; i < settings.getFixtureUsers(); i++) {
+            long userId = fixture.createUser(api).join();
+            (i < ownerCount ? fixture.owners : fixture.bookers).add(userId);
+        }
+        for (long ownerId : fixture.owners) {
+            for (int i = 0; i < settings.getItemsPerOwner(); i++) {
+                fixture.items.add(fixture.addItem(api, ownerId).join());
+                fixture.itemOwners.add(ownerId);
+            }
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < Math.min(COMMENTED_ITEMS, fixture.items.size()); i++) {
+            long itemId = fixture.items.get(i);
+            long bookerId = fixture.bookers.get(i % fixture.bookers.size());
+            long bookingId = api.send(Scenario.BOOK, "POST", "/bookings", bookerId,
+                            Map.of("itemId", itemId, "start", format(start), "end", format(start.plusSeconds(1))))
+                    .join()
+                    .get("id")
+                    .asLong();
+            api.send(Scenario.APPROVE, "PATCH", "/bookings/" + bookingId + "?approved=true",
+                    fixture.itemOwners.get(i), null).join();
+            fixture.commentable.add(new long[]{itemId, bookerId});
+        }
+        // Комментировать можно только завершенное бронирование
+        long waitMillis = Duration.between(LocalDateTime.now(), start.plusSeconds(2)).toMillis();
+        if (waitMillis > 0) {
+            Thread.sleep(waitMillis);
+        }
+        return fixture;
+    }
+
+    public CompletableFuture<Long> createUser(ShareItApi api) {
+        long number = sequence.incrementAndGet();
+        return api.send(Scenario.CREATE_USER, "POST", "/users", null,
+                        Map.of("name", "user" + number, "email", "load-" + runId + "-" + number + "@mail.com"))
+                .thenApply(json -> json.get("id").asLong());
+    }
+
+    public CompletableFuture<Long> addItem(ShareItApi api, long ownerId) {
+        long number = sequence.incrementAndGet();
+        String word = randomWord();
+        return api.send(Scenario.ADD_ITEM, "POST", "/items", ownerId,
+                        Map.of("name", word + " " + number,
+                                "description", "Описание: " + word + " модель " + number % 100,
+                                "available", true))
+                .thenApply(json -> json.get("id").asLong());
+    }
+
+    /**
+     * @return - бронирование случайной вещи случайным пользователем на следующий свободный интервал.
+     */
+    public BookingPlan planBooking() {
+        int index = ThreadLocalRandom.current().nextInt(items.size());
+        LocalDateTime start = base.plusHours(slots.incrementAndGet() * 2);
+        return new BookingPlan(itemOwners.get(index), randomBooker(),
+                Map.of("itemId", items.get(index), "start", format(start), "end", format(start.plusHours(1))));
+    }
+
+    public void addPending(long bookingId, long ownerId) {
+        pending.add(new long[]{bookingId, ownerId});
+    }
+
+    public long[] pollPending() {
+        return pending.poll();
+    }
+
+    public long[] randomCommentable() {
+        return commentable.isEmpty() ? null
+                : commentable.get(ThreadLocalRandom.current().nextInt(commentable.size()));
+    }
+
+    public long randomItem() {
+        return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+    }
+
+    public long randomOwner() {
+        return owners.get(ThreadLocalRandom.current().nextInt(owners.size()));
+    }
+
+    public long randomBooker() {
+        return bookers.get(ThreadLocalRandom.current().nextInt(bookers.size()));
+    }
+
+    public long randomUser() {
+        return ThreadLocalRandom.current().nextBoolean() ? randomOwner() : randomBooker();
+    }
+
+    public static String randomState() {
+        return STATES[ThreadLocalRandom.current().nextInt(STATES.length)];
+    }
+
+    public static String randomWord() {
+        return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+    }
+
+    private static String format(LocalDateTime time) {
+        return time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    @Value
+    public static class BookingPlan {
+        long ownerId;
+        long bookerId;
+        Map<String, Object> body;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Замкнутая модель нагрузки: каждый виртуальный пользователь выбирает шаг по весам Scenario,
+ * ждет ответа и сразу отправляет следующий запрос. Сначала прогрев без учета, затем замер.
+ */
+@RequiredArgsConstructor
+public class LoadRunner {
+    private static final String PAGE = "&from=0&size=10";
+
+    private final ShareItApi api;
+    private final Fixture fixture;
+
+    public Stats run(LoadSettings settings) throws InterruptedException {
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long deadline = measureFrom + settings.getDuration().toNanos();
+        CompletableFuture<?>[] users = new CompletableFuture<?>[settings.getUsers()];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = startUser(deadline);
+        }
+
+        Thread.sleep(Math.max(0, (measureFrom - System.nanoTime()) / 1_000_000));
+        Stats stats = new Stats();
+        api.setStats(stats);
+        long started = System.nanoTime();
+        CompletableFuture.allOf(users).join();
+        stats.finish(System.nanoTime() - started);
+        api.setStats(null);
+        return stats;
+    }
+
+    private CompletableFuture<Void> startUser(long deadline) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        next(deadline, done);
+        return done;
+    }
+
+    // Следующий шаг планируется по завершении предыдущего, без цепочки future на весь прогон.
+    // Ошибки уже учтены в Stats, пользователь продолжает со следующего шага
+    private void next(long deadline, CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        execute(Scenario.pick()).whenCompleteAsync((result, error) -> next(deadline, done));
+    }
+
+    private CompletableFuture<?> execute(Scenario scenario) {
+        try {
+            return send(scenario);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<?> send(Scenario scenario) {
+        switch (scenario) {
+            case SEARCH:
+                return api.get(scenario, "/items/search?text=" + ShareItApi.encode(Fixture.randomWord()) + PAGE,
+                        fixture.randomUser());
+            case GET_ITEM:
+                return api.get(scenario, "/items/" + fixture.randomItem(), fixture.randomUser());
+            case LIST_BOOKINGS:
+                return api.get(scenario, "/bookings?state=" + Fixture.randomState() + PAGE, fixture.randomBooker());
+            case LIST_OWNER_BOOKINGS:
+                return api.get(scenario, "/bookings/owner?state=" + Fixture.randomState() + PAGE,
+                        fixture.randomOwner());
+            case LIST_ITEMS:
+                return api.get(scenario, "/items?" + PAGE.substring(1), fixture.randomOwner());
+            case BOOK:
+                return book();
+            case APPROVE:
+                long[] pending = fixture.pollPending();
+                if (pending == null) {
+                    return book();
+                }
+                return api.send(scenario, "PATCH", "/bookings/" + pending[0] + "?approved=true", pending[1], null);
+            case ADD_ITEM:
+                return fixture.addItem(api, fixture.randomOwner());
+            case COMMENT:
+                long[] commentable = fixture.randomCommentable();
+                if (commentable == null) {
+                    return book();
+                }
+                return api.send(scenario, "POST", "/items/" + commentable[0] + "/comment", commentable[1],
+                        Map.of("text", "Отличная вещь, все работает"));
+            case CREATE_USER:
+                return fixture.createUser(api);
+            default:
+                throw new IllegalArgumentException("Неизвестный шаг сценария: " + scenario);
+        }
+    }
+
+    private CompletableFuture<JsonNode> book() {
+        Fixture.BookingPlan plan = fixture.planBooking();
+        return api.send(Scenario.BOOK, "POST", "/bookings", plan.getBookerId(), plan.getBody())
+                .whenComplete((json, error) -> {
+                    if (error == null) {
+                        fixture.addPending(json.get("id").asLong(), plan.getOwnerId());
+                    }
+                });
+    }
+}
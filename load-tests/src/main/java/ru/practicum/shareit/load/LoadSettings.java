@@ -0,0 +1,83 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Параметры нагрузочного теста из системных свойств (-Dusers=5000 и т.д.).
+ */
+@Getter
+@ToString
+public class LoadSettings {
+    // Одновременные виртуальные пользователи: каждый ждет ответа перед следующим запросом
+    private final int users;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration requestTimeout;
+    // Адрес уже запущенного шлюза; если задан, шлюз и сервер не запускаются
+    private final String baseUrl;
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final String serverProfiles;
+    private final String gatewayProfiles;
+    private final List<String> jvmArgs;
+    // Данные, создаваемые через API до замера
+    private final int fixtureUsers;
+    private final int itemsPerOwner;
+    private final Path report;
+
+    private LoadSettings() {
+        users = Integer.getInteger("users", 100);
+        warmup = Duration.ofSeconds(Long.getLong("warmup", 10L));
+        duration = Duration.ofSeconds(Long.getLong("duration", 60L));
+        requestTimeout = Duration.ofSeconds(Long.getLong("request.timeout", 30L));
+        baseUrl = System.getProperty("baseUrl");
+        Path projectDir = Path.of(System.getProperty("project.dir", "."));
+        serverJar = jar("server.jar", projectDir.resolve("server/target"), "shareit-server-*-exec.jar");
+        gatewayJar = jar("gateway.jar", projectDir.resolve("gateway/target"), "shareit-gateway-*.jar");
+        serverProfiles = System.getProperty("server.profiles", "test");
+        gatewayProfiles = System.getProperty("gateway.profiles", "");
+        jvmArgs = Arrays.stream(System.getProperty("jvm.args", "-Xmx1g").trim().split("\\s+"))
+                .filter(arg -> !arg.isEmpty())
+                .collect(Collectors.toList());
+        fixtureUsers = Integer.getInteger("fixture.users", 200);
+        itemsPerOwner = Integer.getInteger("fixture.items-per-owner", 5);
+        report = Path.of(System.getProperty("report", "load-test-report.csv"));
+        if (users < 1 || fixtureUsers < 10 || itemsPerOwner < 1) {
+            throw new IllegalArgumentException("Число пользователей и вещей должно быть положительным, "
+                    + "fixture.users - не меньше 10.");
+        }
+    }
+
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings();
+    }
+
+    private Path jar(String property, Path directory, String glob) {
+        String value = System.getProperty(property);
+        if (value != null) {
+            return Path.of(value);
+        }
+        if (baseUrl != null || !Files.isDirectory(directory)) {
+            return null;
+        }
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(directory, glob)) {
+            for (Path jar : jars) {
+                return jar;
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
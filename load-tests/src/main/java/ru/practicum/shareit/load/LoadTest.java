@@ -0,0 +1,32 @@
+package ru.practicum.shareit.load;
+
+/**
+ * Нагрузочный тест шлюза и сервера: java [-D...] -jar load-tests/target/load-tests.jar
+ * <p>
+ * Запускает сервер (H2) и шлюз из собранных jar, создает данные через API, прогоняет взвешенный
+ * сценарий (Scenario) и выводит для каждого шага число запросов, ошибки, запросы в секунду и
+ * задержки p50/p99/max; те же данные сохраняются в CSV (-Dreport).
+ * <p>
+ * Сравнение режимов шлюза - отдельными запусками с одинаковой нагрузкой, например:
+ * -Dusers=500 (блокирующий клиент), -Dusers=500 -Dgateway.profiles=reactive (WebClient на WebFlux),
+ * -Dusers=5000 -Dgateway.profiles=virtual -Dserver.profiles=test,virtual (виртуальные потоки,
+ * JDK 21+ и сборка с профилем loom; нужен лимит открытых файлов больше 5000 соединений).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        System.out.println("Нагрузочный тест: " + settings);
+        try (Stand stand = Stand.start(settings)) {
+            ShareItApi api = new ShareItApi(stand.getBaseUrl(), settings.getRequestTimeout());
+            Fixture fixture = Fixture.create(api, settings);
+            System.out.printf("Стенд %s готов, данные созданы; прогрев %d с, замер %d с, %d пользователей.%n",
+                    stand.getBaseUrl(), settings.getWarmup().toSeconds(), settings.getDuration().toSeconds(),
+                    settings.getUsers());
+            Stats stats = new LoadRunner(api, fixture).run(settings);
+            stats.print(System.out);
+            stats.writeCsv(settings.getReport());
+            System.out.println("Отчет сохранен в " + settings.getReport().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Шаги нагрузочного сценария по коллекции postman/sprint.json и их доля в общем потоке запросов.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Scenario {
+    SEARCH("GET /items/search", 30),
+    GET_ITEM("GET /items/{id}", 20),
+    LIST_BOOKINGS("GET /bookings", 12),
+    LIST_OWNER_BOOKINGS("GET /bookings/owner", 10),
+    LIST_ITEMS("GET /items", 10),
+    BOOK("POST /bookings", 7),
+    APPROVE("PATCH /bookings/{id}", 5),
+    ADD_ITEM("POST /items", 3),
+    COMMENT("POST /items/{id}/comment", 2),
+    CREATE_USER("POST /users", 1);
+
+    private static final Scenario[] VALUES = values();
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final String endpoint;
+    private final int weight;
+
+    public static Scenario pick() {
+        int value = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+        for (Scenario scenario : VALUES) {
+            value -= scenario.weight;
+            if (value < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Вес сценариев посчитан неверно.");
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Scenario scenario : values()) {
+            total += scenario.weight;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Асинхронный клиент шлюза: запрос не занимает поток, пока ждет ответа, поэтому тысячи виртуальных
+ * пользователей держат столько же соединений без потока на каждое.
+ * <p>
+ * Ответы учитываются в Stats, пока замер включен (setStats); во время подготовки данных и прогрева - нет.
+ */
+public class ShareItApi {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private volatile Stats stats;
+
+    public ShareItApi(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public void setStats(Stats stats) {
+        this.stats = stats;
+    }
+
+    public CompletableFuture<JsonNode> get(Scenario scenario, String path, Long userId) {
+        return send(scenario, "GET", path, userId, null);
+    }
+
+    /**
+     * @param body - тело запроса, сериализуется в JSON; null - без тела.
+     * @return - разобранный ответ; ответ не 2xx завершает future исключением.
+     */
+    public CompletableFuture<JsonNode> send(Scenario scenario, String method, String path, Long userId,
+                                            Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            request.header(USER_HEADER, userId.toString());
+        }
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(toJson(body)));
+        }
+        long started = System.nanoTime();
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    boolean success = error == null && response.statusCode() / 100 == 2;
+                    Stats current = stats;
+                    if (current != null) {
+                        current.record(scenario, System.nanoTime() - started, success);
+                    }
+                    if (error != null) {
+                        throw new CompletionException(error);
+                    }
+                    if (!success) {
+                        throw new IllegalStateException(String.format("%s %s: %d %s", method, path,
+                                response.statusCode(), new String(response.body(), StandardCharsets.UTF_8)));
+                    }
+                    return fromJson(response.body());
+                });
+    }
+
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Тело запроса не сериализуется в JSON.", e);
+        }
+    }
+
+    private JsonNode fromJson(byte[] body) {
+        if (body.length == 0) {
+            return NullNode.getInstance();
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
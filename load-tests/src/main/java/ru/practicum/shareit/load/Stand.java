@@ -0,0 +1,128 @@
+package ru.practicum.shareit.load;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервер и шлюз в отдельных процессах из собранных jar: сервер на встроенной H2 (профиль test),
+ * шлюз обращается к нему по localhost. Логи процессов пишутся в target/load-test.
+ * <p>
+ * В одной JVM их запустить нельзя: у модулей совпадают имена классов и различаются автоконфигурации.
+ */
+public class Stand implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Getter
+    private final String baseUrl;
+    private final List<Process> processes = new ArrayList<>();
+
+    private Stand(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static Stand start(LoadSettings settings) throws IOException, InterruptedException {
+        if (settings.getBaseUrl() != null) {
+            return new Stand(settings.getBaseUrl());
+        }
+        if (settings.getServerJar() == null || settings.getGatewayJar() == null) {
+            throw new IllegalStateException("Не найдены jar сервера и шлюза: соберите проект "
+                    + "(mvn -P load-tests package -DskipTests) или укажите -Dserver.jar и -Dgateway.jar.");
+        }
+        int serverPort = freePort();
+        int gatewayPort = freePort();
+        Path logs = Files.createDirectories(Path.of("target", "load-test"));
+        Stand stand = new Stand("http://localhost:" + gatewayPort);
+        try {
+            stand.launch(settings, settings.getServerJar(), settings.getServerProfiles(), logs.resolve("server.log"),
+                    "--server.port=" + serverPort,
+                    "--spring.datasource.url=jdbc:h2:mem:load",
+                    // Подробные логи транзакций из общих настроек сервера под нагрузкой только мешают
+                    "--logging.level.org.springframework.transaction.interceptor=WARN",
+                    "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+            stand.launch(settings, settings.getGatewayJar(), settings.getGatewayProfiles(), logs.resolve("gateway.log"),
+                    "--server.port=" + gatewayPort,
+                    "--shareit-server.url=http://localhost:" + serverPort,
+                    "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+            stand.awaitReady(logs);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stand.close();
+            throw e;
+        }
+        return stand;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void launch(LoadSettings settings, Path jar, String profiles, Path log, String... args)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(settings.getJvmArgs());
+        command.add("-jar");
+        command.add(jar.toString());
+        if (!profiles.isBlank()) {
+            command.add("--spring.profiles.active=" + profiles);
+        }
+        command.addAll(List.of(args));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    // Стенд готов, когда шлюз отвечает на запрос, проходящий до сервера
+    private void awaitReady(Path logs) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            for (Process process : processes) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Процесс стенда завершился, см. логи в " + logs.toAbsolutePath());
+                }
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // еще не запустился
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Стенд не запустился за " + STARTUP_TIMEOUT.toSeconds()
+                + " с, см. логи в " + logs.toAbsolutePath());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
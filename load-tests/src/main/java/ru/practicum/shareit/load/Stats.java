@@ -0,0 +1,90 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки успешных ответов (гистограмма в микросекундах) и число ошибок по шагам сценария.
+ * Ошибка - ответ не 2xx, таймаут или сбой соединения.
+ */
+public class Stats {
+    private static final int PRECISION = 3;
+
+    private final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private long elapsedNanos;
+
+    public Stats() {
+        for (Scenario scenario : Scenario.values()) {
+            latencies.put(scenario, new ConcurrentHistogram(PRECISION));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    public void record(Scenario scenario, long nanos, boolean success) {
+        if (success) {
+            latencies.get(scenario).recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+        } else {
+            errors.get(scenario).increment();
+        }
+    }
+
+    public void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-28s %10s %8s %10s %9s %9s %9s%n",
+                "Шаг", "Запросов", "Ошибок", "Запр/с", "p50, мс", "p99, мс", "max, мс");
+        for (Scenario scenario : Scenario.values()) {
+            out.println(format("%-28s %10d %8d %10.1f %9.2f %9.2f %9.2f", scenario.getEndpoint(),
+                    latencies.get(scenario), errors.get(scenario).sum()));
+        }
+        out.println(format("%-28s %10d %8d %10.1f %9.2f %9.2f %9.2f", "Всего", total(), totalErrors()));
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("endpoint,requests,errors,throughput,p50_ms,p99_ms,max_ms");
+            for (Scenario scenario : Scenario.values()) {
+                out.println(format("%s,%d,%d,%.1f,%.2f,%.2f,%.2f", scenario.getEndpoint(),
+                        latencies.get(scenario), errors.get(scenario).sum()));
+            }
+            out.println(format("%s,%d,%d,%.1f,%.2f,%.2f,%.2f", "total", total(), totalErrors()));
+        }
+    }
+
+    private String format(String pattern, String name, Histogram histogram, long errorCount) {
+        long requests = histogram.getTotalCount() + errorCount;
+        double seconds = elapsedNanos / 1e9;
+        return String.format(Locale.ROOT, pattern, name, requests, errorCount,
+                seconds > 0 ? requests / seconds : 0.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private Histogram total() {
+        Histogram total = new Histogram(PRECISION);
+        latencies.values().forEach(total::add);
+        return total;
+    }
+
+    private long totalErrors() {
+        return errors.values().stream()
+                .mapToLong(LongAdder::sum)
+                .sum();
+    }
+}
@@ -1,17 +1,25 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.util.CustomPageRequest;
+import ru.practicum.shareit.util.NdjsonResponseWriter;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,7 +29,10 @@ import java.util.List;
 @Validated
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService service;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto addBooking(@RequestBody BookingDtoInput bookingDtoInput,
@@ -52,31 +63,87 @@ public class BookingController {
         return service.getBooking(bookingId, userId);
     }
 
+    /**
+     * Возвращает бронирования пользователя. Если передан after, используется keyset-пагинация
+     * от позиции из токена, иначе - пагинация по смещению from.
+     * Токен следующей страницы возвращается в заголовке X-Next-Cursor, если страница заполнена.
+     */
     @GetMapping
-    public List<BookingDto> getAllUserBookings(@RequestParam(name = "state", defaultValue = "ALL")
-                                               String stateValue,
-                                               @RequestHeader("X-Sharer-User-Id") Long userId,
-                                               @RequestParam(value = "from", defaultValue = "0") int from,
-                                               @RequestParam(value = "size", defaultValue = "10") int size) {
-        log.info("=== Call 'getAllUserBookings' with state {}, userId {}, from {}, size {}.",
-                stateValue, userId, from, size);
+    public ResponseEntity<List<BookingDto>> getAllUserBookings(@RequestParam(name = "state", defaultValue = "ALL")
+                                                               String stateValue,
+                                                               @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                               @RequestParam(value = "from", defaultValue = "0")
+                                                               int from,
+                                                               @RequestParam(value = "size", defaultValue = "10")
+                                                               int size,
+                                                               @RequestParam(value = "after", required = false)
+                                                               String after) {
+        log.info("=== Call 'getAllUserBookings' with state {}, userId {}, from {}, size {}, after {}.",
+                stateValue, userId, from, size, after);
         BookingState state = BookingState.stateFromString(stateValue);
-        Sort orderByStartTime = Sort.by(Sort.Direction.DESC, "start");
-        final PageRequest pageRequest = CustomPageRequest.of(from, size, orderByStartTime);
-        return service.getAllUserBookings(state, userId, pageRequest);
+        List<BookingDto> result;
+        if (after != null) {
+            result = service.getAllUserBookings(state, userId, BookingCursor.decode(after), size);
+        } else {
+            Sort orderByStartTime = Sort.by(Sort.Direction.DESC, "start");
+            final PageRequest pageRequest = CustomPageRequest.of(from, size, orderByStartTime);
+            result = service.getAllUserBookings(state, userId, pageRequest);
+        }
+        return withNextCursor(result, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllUserItemsBooking(@RequestParam(name = "state", defaultValue = "ALL")
-                                                   String stateValue,
-                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(value = "from", defaultValue = "0") int from,
-                                                   @RequestParam(value = "size", defaultValue = "10") int size) {
-        log.info("=== Call 'getAllUserItemsBookings' with stateValue {}, userId {}.",
-                stateValue, userId);
+    public ResponseEntity<List<BookingDto>> getAllUserItemsBooking(@RequestParam(name = "state", defaultValue = "ALL")
+                                                                   String stateValue,
+                                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestParam(value = "from", defaultValue = "0")
+                                                                   int from,
+                                                                   @RequestParam(value = "size", defaultValue = "10")
+                                                                   int size,
+                                                                   @RequestParam(value = "after", required = false)
+                                                                   String after) {
+        log.info("=== Call 'getAllUserItemsBookings' with stateValue {}, userId {}, after {}.",
+                stateValue, userId, after);
+        BookingState state = BookingState.stateFromString(stateValue);
+        List<BookingDto> result;
+        if (after != null) {
+            result = service.getAllOwnerItemsBooking(state, userId, BookingCursor.decode(after), size);
+        } else {
+            Sort orderByStartTime = Sort.by(Sort.Direction.DESC, "start");
+            final PageRequest pageRequest = CustomPageRequest.of(from, size, orderByStartTime);
+            result = service.getAllOwnerItemsBooking(state, userId, pageRequest);
+        }
+        return withNextCursor(result, size);
+    }
+
+    /**
+     * Выгружает все бронирования вещей собственника в формате NDJSON (один BookingDto в строке)
+     * в порядке (start DESC, id DESC). Строки читаются из БД курсором и сразу пишутся в ответ.
+     *
+     * @param from - начало окна по дате начала бронирования (включительно), ISO-8601, необязательно.
+     * @param to   - конец окна по дате начала бронирования (не включительно), ISO-8601, необязательно.
+     */
+    @GetMapping("/owner/export")
+    public void exportAllUserItemsBooking(@RequestParam(name = "state", defaultValue = "ALL") String stateValue,
+                                          @RequestHeader("X-Sharer-User-Id") Long userId,
+                                          @RequestParam(value = "from", required = false)
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam(value = "to", required = false)
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          HttpServletResponse response) throws IOException {
+        log.info("=== Call 'exportAllUserItemsBooking' with stateValue {}, userId {}, from {}, to {}.",
+                stateValue, userId, from, to);
         BookingState state = BookingState.stateFromString(stateValue);
-        Sort orderByStartTime = Sort.by(Sort.Direction.DESC, "start");
-        final PageRequest pageRequest = CustomPageRequest.of(from, size, orderByStartTime);
-        return service.getAllOwnerItemsBooking(state, userId, pageRequest);
+        NdjsonResponseWriter writer = new NdjsonResponseWriter(response, objectMapper);
+        service.exportAllOwnerItemsBooking(state, userId, from, to, writer::write);
+        writer.finish();
+    }
+
+    private static ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> result, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!result.isEmpty() && result.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(result.get(result.size() - 1)).encode());
+        }
+        return response.body(result);
     }
 }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.dao;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingCriteriaRepository {
+
+    /**
+     * Возвращает страницу бронирований пользователя в порядке (start DESC, id DESC).
+     * Страница задается либо смещением offset, либо позицией after (keyset-пагинация).
+     *
+     * @param role        - роль пользователя: бронирующий или собственник вещей.
+     * @param userId      - id пользователя.
+     * @param state       - состояние бронирований.
+     * @param currentTime - момент, относительно которого вычисляется состояние.
+     * @param after       - позиция последнего элемента предыдущей страницы, null - без keyset-условия.
+     * @param offset      - число пропускаемых строк.
+     * @param size        - размер страницы.
+     * @return - список бронирований в виде проекции.
+     */
+    List<BookingView> findAllByState(BookingRole role, Long userId, BookingState state,
+                                     LocalDateTime currentTime, BookingCursor after, long offset, int size);
+
+    /**
+     * Возвращает все бронирования пользователя в порядке (start DESC, id DESC) однонаправленным курсором.
+     * Бронирования приходят вместе с вещью и отсоединенными от контекста персистентности, поэтому
+     * память не растет с числом строк. Поток нужно читать и закрыть внутри транзакции.
+     *
+     * @param role        - роль пользователя: бронирующий или собственник вещей.
+     * @param userId      - id пользователя.
+     * @param state       - состояние бронирований.
+     * @param currentTime - момент, относительно которого вычисляется состояние.
+     * @param from        - начало окна по дате начала бронирования (включительно), null - без ограничения.
+     * @param to          - конец окна по дате начала бронирования (не включительно), null - без ограничения.
+     * @return - поток бронирований.
+     */
+    Stream<Booking> streamAllByState(BookingRole role, Long userId, BookingState state,
+                                     LocalDateTime currentTime, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.hibernate.jpa.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.WrongStateException;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class BookingCriteriaRepositoryImpl implements BookingCriteriaRepository {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<BookingView> findAllByState(BookingRole role, Long userId, BookingState state,
+                                            LocalDateTime currentTime, BookingCursor after, long offset, int size) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> predicates = statePredicates(cb, booking, item, role, userId, state, currentTime);
+        if (after != null) {
+            // (start, id) < (after.start, after.id); первое условие дает индексу диапазон по start
+            predicates.add(cb.lessThanOrEqualTo(start, after.getStart()));
+            predicates.add(cb.or(
+                    cb.lessThan(start, after.getStart()),
+                    cb.lessThan(id, after.getId())));
+        }
+
+        query.select(cb.construct(BookingView.class,
+                        id,
+                        start,
+                        end,
+                        booking.get("status"),
+                        item.get("id"),
+                        item.get("name"),
+                        booking.get("booker").get("id")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return em.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Booking> streamAllByState(BookingRole role, Long userId, BookingState state,
+                                            LocalDateTime currentTime, LocalDateTime from, LocalDateTime to) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        // fetch вместо join: вещь нужна BookingDto, и лишнего запроса на каждую строку не будет
+        @SuppressWarnings("unchecked")
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item");
+        Path<LocalDateTime> start = booking.get("start");
+
+        List<Predicate> predicates = statePredicates(cb, booking, item, role, userId, state, currentTime);
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(start, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(start, to));
+        }
+
+        query.select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(booking.get("id")));
+        // Курсор читает строки порциями по STREAM_FETCH_SIZE. Каждое бронирование сразу отсоединяется,
+        // а вещи и прокси бронирующих, которые остаются в контексте, сбрасываются после каждой порции
+        AtomicLong rows = new AtomicLong();
+        return em.createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()
+                .peek(b -> {
+                    em.detach(b);
+                    if (rows.incrementAndGet() % STREAM_FETCH_SIZE == 0) {
+                        em.clear();
+                    }
+                });
+    }
+
+    private static List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> booking, Join<Booking, Item> item,
+                                                   BookingRole role, Long userId, BookingState state,
+                                                   LocalDateTime currentTime) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        List<Predicate> predicates = new ArrayList<>();
+        if (role == BookingRole.OWNER) {
+            predicates.add(cb.equal(item.get("owner").get("id"), userId));
+        } else {
+            predicates.add(cb.equal(booking.get("booker").get("id"), userId));
+        }
+
+        switch (state) {
+            case ALL:
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThan(start, currentTime));
+                predicates.add(cb.greaterThan(end, currentTime));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, currentTime));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, currentTime));
+                break;
+            case WAITING:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                predicates.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            default:
+                throw new WrongStateException(String.format("Состояние бронирования %s недопустимо.", state));
+        }
+        return predicates;
+    }
+}
@@ -1,102 +1,54 @@
 package ru.practicum.shareit.booking.dao;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingItemStats;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingCriteriaRepository {
 
-    // Получение списка всех бронирований текущего пользователя
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByBooker(Long userId, PageRequest pageRequest);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND b.start < ?2 " +
-            "AND b.end > ?3 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerCurrent(Long userId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND b.end < ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerInPast(Long userId, LocalDateTime now, PageRequest pageRequest);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND b.start > ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerInFuture(Long userId, LocalDateTime now, PageRequest pageRequest);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.booker.id = ?1 " +
-            "AND b.status = ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByBookerAndStatus(Long userId, BookingStatus status, PageRequest pageRequest);
-
-    // Получение списка бронирований для всех вещей текущего пользователя
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByItemOwner(Long userId, PageRequest pageRequest);
+    // BookingDto требует название вещи, бронирующему достаточно id
+    @Override
+    @EntityGraph("Booking.item")
+    Optional<Booking> findById(Long bookingId);
 
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND b.start < ?2 " +
-            "AND b.end > ?3 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByItemOwnerCurrent(Long userId, LocalDateTime start, LocalDateTime end, PageRequest pageRequest);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND b.end < ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByItemOwnerInPast(Long userId, LocalDateTime now, PageRequest pageRequest);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND b.start > ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByItemOwnerInFuture(Long userId, LocalDateTime now, PageRequest pageRequest);
-
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.item.owner.id = ?1 " +
-            "AND b.status = ?2 " +
-            "ORDER BY b.start DESC")
-    List<Booking> findAllByItemOwnerAndStatus(Long userId, BookingStatus status, PageRequest pageRequest);
-
-    // Получение списка бронирований для вещи
-    @Query("SELECT b " +
-            "FROM Booking AS b " +
-            "WHERE b.item.id = ?1 " +
-            "AND b.start > ?2 " +
-            "AND b.item.owner.id = ?3 " +
-            "ORDER BY b.start DESC ")
-    List<Booking> findAllNextBookingsForItem(Long itemId, LocalDateTime currentTime, Long ownerId);
+    // Вещь бронирования не меняется, поэтому ее id можно прочитать до начала транзакции изменения
+    @Query("SELECT b.item.id FROM Booking AS b WHERE b.id = ?1")
+    Optional<Long> findItemIdById(Long bookingId);
 
-    @Query("SELECT b " +
+    // Есть ли действующее бронирование вещи, пересекающееся с интервалом [start, end)
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END " +
             "FROM Booking AS b " +
             "WHERE b.item.id = ?1 " +
-            "AND b.end < ?2 " +
-            "AND b.item.owner.id = ?3 " +
-            "ORDER BY b.end ASC ")
-    List<Booking> findAllLastBookingsForItem(Long itemId, LocalDateTime currentTime, Long userId);
+            "AND b.status IN (ru.practicum.shareit.booking.model.BookingStatus.WAITING, " +
+            "ru.practicum.shareit.booking.model.BookingStatus.APPROVED) " +
+            "AND b.start < ?3 " +
+            "AND b.end > ?2")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    // Получение ближайших следующего и последнего бронирований для списка вещей одним запросом
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 " +
+            "AND (b.start = (SELECT MIN(bn.start) FROM Booking AS bn " +
+            "WHERE bn.item.id = b.item.id AND bn.start > ?2) " +
+            "OR b.end = (SELECT MAX(bl.end) FROM Booking AS bl " +
+            "WHERE bl.item.id = b.item.id AND bl.end < ?2)) " +
+            "ORDER BY b.id")
+    List<BookingShort> findNearestBookingsForItems(Collection<Long> itemIds, LocalDateTime currentTime);
+
+    // Число бронирований и ближайшее окончание бронирования после ?2 для списка вещей одним запросом
+    @Query("SELECT b.item.id AS itemId, COUNT(b) AS total, " +
+            "MIN(CASE WHEN b.end > ?2 THEN b.end ELSE NULL END) AS nearestEnd " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id IN ?1 " +
+            "GROUP BY b.item.id")
+    List<BookingItemStats> findItemStats(Collection<Long> itemIds, LocalDateTime currentTime);
 }
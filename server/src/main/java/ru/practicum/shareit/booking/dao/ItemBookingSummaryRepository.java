@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    // Пересчет сводки идет под блокировкой строки: иначе периодическая задача может записать
+    // результат, посчитанный до фиксации нового бронирования
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemBookingSummary AS s " +
+            "WHERE s.itemId IN ?1 " +
+            "ORDER BY s.itemId")
+    List<ItemBookingSummary> findAllLockedByItemIdIn(Collection<Long> itemIds);
+
+    @Query("SELECT s.itemId FROM ItemBookingSummary AS s " +
+            "WHERE s.validUntil <= ?1 " +
+            "ORDER BY s.itemId")
+    List<Long> findAllStaleItemIds(LocalDateTime currentTime, Pageable pageable);
+
+    // Вещи, которые бронировал пользователь: при его удалении бронирования удаляются каскадно
+    @Modifying
+    @Query("UPDATE ItemBookingSummary AS s " +
+            "SET s.validUntil = ?2 " +
+            "WHERE s.itemId IN (SELECT b.item.id FROM Booking AS b WHERE b.booker.id = ?1)")
+    int invalidateAllByBookerId(Long bookerId, LocalDateTime currentTime);
+}
@@ -24,6 +24,19 @@ public class BookingDtoMapper {
         return result;
     }
 
+    public BookingDto toBookingDto(BookingView booking) {
+        BookingDto result = BookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus().name())
+                .build();
+        result.setItem(result.createItem(booking.getItemId(), booking.getItemName()));
+        result.setBooker(result.createBooker(booking.getBookerId()));
+
+        return result;
+    }
+
     public BookingDto toBookongDtoFtomInput(BookingDtoInput bookingDtoInput) {
         BookingDto result = BookingDto.builder()
                 .start(bookingDtoInput.getStart())
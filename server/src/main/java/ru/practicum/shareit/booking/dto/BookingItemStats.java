@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция для сводки бронирований вещи: общее число бронирований и ближайшее окончание после заданного момента.
+ */
+public interface BookingItemStats {
+
+    Long getItemId();
+
+    Long getTotal();
+
+    LocalDateTime getNearestEnd();
+}
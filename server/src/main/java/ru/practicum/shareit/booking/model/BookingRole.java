@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.model;
+
+public enum BookingRole {
+    // Бронирующий
+    BOOKER,
+    // Собственник вещи
+    OWNER
+}
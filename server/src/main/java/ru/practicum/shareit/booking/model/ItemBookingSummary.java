@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Persistable;
+import ru.practicum.shareit.booking.dto.BookingShort;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Сводка бронирований вещи: ближайшее следующее и последнее бронирования и их общее число.
+ * <p>
+ * Пересчитывается при создании бронирования и периодической задачей. validUntil - момент, когда
+ * сводка устаревает (начнется следующее или закончится текущее бронирование); null - пока не появится
+ * новое бронирование.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@Entity
+@Table(name = "item_booking_summary", schema = "public")
+public class ItemBookingSummary implements Persistable<Long> {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+
+    @Column(name = "next_start")
+    private LocalDateTime nextStart;
+
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+
+    @Column(name = "last_start")
+    private LocalDateTime lastStart;
+
+    @Column(name = "bookings_count")
+    private long bookingsCount;
+
+    @Column(name = "valid_until")
+    private LocalDateTime validUntil;
+
+    // id задается явно (id вещи), поэтому новизну определяет флаг, а не id: иначе save() делал бы
+    // лишний SELECT перед каждой вставкой
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean persisted;
+
+    public ItemBookingSummary(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    @Override
+    public Long getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    public boolean isFreshAt(LocalDateTime time) {
+        return validUntil == null || validUntil.isAfter(time);
+    }
+
+    public BookingShort getNextBooking() {
+        return nextBookingId == null ? null : new SummaryBooking(nextBookingId, itemId, nextBookerId, nextStart);
+    }
+
+    public BookingShort getLastBooking() {
+        return lastBookingId == null ? null : new SummaryBooking(lastBookingId, itemId, lastBookerId, lastStart);
+    }
+
+    public void setNextBooking(BookingShort booking) {
+        nextBookingId = booking == null ? null : booking.getId();
+        nextBookerId = booking == null ? null : booking.getBookerId();
+        nextStart = booking == null ? null : booking.getStart();
+    }
+
+    public void setLastBooking(BookingShort booking) {
+        lastBookingId = booking == null ? null : booking.getId();
+        lastBookerId = booking == null ? null : booking.getBookerId();
+        lastStart = booking == null ? null : booking.getStart();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ItemBookingSummary summary = (ItemBookingSummary) o;
+        return itemId != null && Objects.equals(itemId, summary.itemId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Value
+    private static class SummaryBooking implements BookingShort {
+        Long id;
+        Long itemId;
+        Long bookerId;
+        LocalDateTime start;
+    }
+}
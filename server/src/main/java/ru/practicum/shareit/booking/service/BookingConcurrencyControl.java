@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Выполняет изменяющие операции с бронированиями, каждую в отдельной транзакции.
+ * <p>
+ * OPTIMISTIC - конфликт версий (@Version у Booking) откатывает транзакцию, и операция
+ * повторяется заново, но не более maxAttempts раз. Пересечения новых бронирований одной вещи
+ * отсекает ограничение bookings_no_overlap в БД, версия вещи при бронировании не меняется.
+ * <p>
+ * STRIPED - операции с одним ключом (id вещи) выполняются последовательно под одной из stripes
+ * блокировок, разные ключи друг другу не мешают.
+ * <p>
+ * Режим задается свойством shareit.booking.concurrency.mode.
+ */
+@Component
+@Slf4j
+public class BookingConcurrencyControl {
+    private static final int MAX_BACKOFF_MILLIS = 5;
+
+    public enum Mode {
+        OPTIMISTIC,
+        STRIPED
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+    private final int maxAttempts;
+    private final Lock[] stripes;
+
+    @Autowired
+    public BookingConcurrencyControl(PlatformTransactionManager transactionManager,
+                                     @Value("${shareit.booking.concurrency.mode:OPTIMISTIC}") Mode mode,
+                                     @Value("${shareit.booking.concurrency.max-attempts:3}") int maxAttempts,
+                                     @Value("${shareit.booking.concurrency.stripes:64}") int stripes) {
+        if (maxAttempts < 1 || stripes < 1) {
+            throw new IllegalArgumentException("Число попыток и блокировок должно быть положительным.");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mode = mode;
+        this.maxAttempts = maxAttempts;
+        this.stripes = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @param key    - id вещи, по которому операции упорядочиваются.
+     * @param action - операция, выполняемая в новой транзакции.
+     * @return - результат операции.
+     */
+    public <T> T execute(Long key, Supplier<T> action) {
+        if (mode == Mode.STRIPED) {
+            Lock lock = stripes[Math.floorMod(Objects.hashCode(key), stripes.length)];
+            lock.lock();
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } finally {
+                lock.unlock();
+            }
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Конфликт версий по ключу {}, попытка {} из {}.", key, attempt, maxAttempts);
+                backoff();
+            }
+        }
+    }
+
+    private static void backoff() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(MAX_BACKOFF_MILLIS + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Повтор операции прерван.", e);
+        }
+    }
+}
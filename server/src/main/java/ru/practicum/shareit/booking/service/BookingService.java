@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.model.BookingState;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
@@ -18,4 +21,11 @@ public interface BookingService {
     List<BookingDto> getAllUserBookings(BookingState state, Long userId, PageRequest pageRequest);
 
     List<BookingDto> getAllOwnerItemsBooking(BookingState state, Long userId, PageRequest pageRequest);
+
+    List<BookingDto> getAllUserBookings(BookingState state, Long userId, BookingCursor after, int size);
+
+    List<BookingDto> getAllOwnerItemsBooking(BookingState state, Long userId, BookingCursor after, int size);
+
+    void exportAllOwnerItemsBooking(BookingState state, Long userId, LocalDateTime from, LocalDateTime to,
+                                    Consumer<BookingDto> action);
 }
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.*;
@@ -17,39 +22,50 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+    static final String EXCLUSION_VIOLATION = "23P01";
 
     private final BookingRepository bookingDao;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingDtoMapper mapper;
+    private final BookingConcurrencyControl concurrency;
+    private final ItemBookingSummaryService summaryService;
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDto addBooking(BookingDtoInput bookingDtoInput, Long bookerId) {
-        if (getUserById(bookerId) == null) {
+        return concurrency.execute(bookingDtoInput.getItemId(), () -> createBooking(bookingDtoInput, bookerId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BookingDto bookingApprove(Long bookingId, Boolean approve, Long userId) {
+        // Подтверждение упорядочивается с созданием бронирований той же вещи
+        Long itemId = bookingDao.findItemIdById(bookingId).orElseThrow(() -> bookingNotFound(bookingId));
+        return concurrency.execute(itemId, () -> approveBooking(bookingId, approve, userId));
+    }
+
+    private BookingDto createBooking(BookingDtoInput bookingDtoInput, Long bookerId) {
+        User booker = getUserById(bookerId);
+        if (booker == null) {
             throw new WrongOwnerException("Id пользователя null.");
         }
         Booking booking = mapper.toBooking(mapper.toBookongDtoFtomInput(bookingDtoInput),
                 getItemById(bookingDtoInput.getItemId()),
-                getUserById(bookerId));
+                booker);
         Item item = booking.getItem();
-        List<Booking> allByItemOwnerCurrent = bookingDao.findAllByItemOwnerCurrent(
-                item.getOwner().getId(),
-                bookingDtoInput.getStart(),
-                bookingDtoInput.getEnd(),
-                null
-        );
-        if (allByItemOwnerCurrent.size() > 0) {
-            item.setAvailable(false);
-        }
         if (!item.getAvailable()) {
             throw new ItemNotAvailableForBookingException(String
                     .format("Предмет с id = %s не доступен для бронирования", item.getId()));
@@ -58,15 +74,17 @@ public class BookingServiceImpl implements BookingService {
             throw new WrongOwnerException(String
                     .format("Пользователь с id = %s является собственником предмета %s", bookerId, item));
         }
-        booking.setBooker(getUserById(bookerId));
+        // Быстрая проверка; окончательно пересечения отсекает ограничение bookings_no_overlap в БД
+        if (bookingDao.existsOverlapping(item.getId(), booking.getStart(), booking.getEnd())) {
+            throw overlapException(item.getId());
+        }
         booking.setStatus(BookingStatus.WAITING);
-        Booking result = bookingDao.save(booking);
+        Booking result = saveBooking(booking);
+        summaryService.refreshAll(List.of(item.getId()), LocalDateTime.now());
         return mapper.toBookingDto(result);
     }
 
-    @Override
-    @Transactional
-    public BookingDto bookingApprove(Long bookingId, Boolean approve, Long userId) {
+    private BookingDto approveBooking(Long bookingId, Boolean approve, Long userId) {
         Booking booking = getBookingById(bookingId);
         BookingStatus status = approve ? BookingStatus.APPROVED : BookingStatus.REJECTED;
         if (booking.getStatus() == status) {
@@ -80,7 +98,7 @@ public class BookingServiceImpl implements BookingService {
                     .format("Пользователь с id = %s не является собственником предмета %s",
                             userId, booking.getItem()));
         }
-        bookingDao.save(booking);
+        saveBooking(booking);
         return mapper.toBookingDto(booking);
     }
 
@@ -97,110 +115,77 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDto> getAllUserBookings(BookingState state, Long userId, PageRequest pageRequest) {
-        checkUserNotNullAndExist(userId);
-        List<BookingDto> result;
-        LocalDateTime currentTime = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                result = bookingDao.findAllByBooker(userId,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case PAST:
-                result = bookingDao.findAllByBookerInPast(userId,
-                                currentTime,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case FUTURE:
-                result = bookingDao.findAllByBookerInFuture(userId,
-                                currentTime,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case CURRENT:
-                result = bookingDao.findAllByBookerCurrent(userId,
-                                currentTime,
-                                currentTime,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case WAITING:
-                result = bookingDao.findAllByBookerAndStatus(userId,
-                                BookingStatus.WAITING,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case REJECTED:
-                result = bookingDao.findAllByBookerAndStatus(userId,
-                                BookingStatus.REJECTED,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            default:
-                throw new WrongStateException(String.format("Состояние бронирования %s недопустимо.", state));
-        }
-        return result;
+        return findAllByState(BookingRole.BOOKER, state, userId, null, pageRequest.getOffset(),
+                pageRequest.getPageSize());
     }
 
     @Override
     public List<BookingDto> getAllOwnerItemsBooking(BookingState state, Long userId, PageRequest pageRequest) {
+        return findAllByState(BookingRole.OWNER, state, userId, null, pageRequest.getOffset(),
+                pageRequest.getPageSize());
+    }
+
+    @Override
+    public List<BookingDto> getAllUserBookings(BookingState state, Long userId, BookingCursor after, int size) {
+        return findAllByState(BookingRole.BOOKER, state, userId, after, 0, size);
+    }
+
+    @Override
+    public List<BookingDto> getAllOwnerItemsBooking(BookingState state, Long userId, BookingCursor after, int size) {
+        return findAllByState(BookingRole.OWNER, state, userId, after, 0, size);
+    }
+
+    @Override
+    public void exportAllOwnerItemsBooking(BookingState state, Long userId, LocalDateTime from, LocalDateTime to,
+                                           Consumer<BookingDto> action) {
         checkUserNotNullAndExist(userId);
-        List<BookingDto> result;
-        LocalDateTime currentTime = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                result = bookingDao.findAllByItemOwner(userId,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case PAST:
-                result = bookingDao.findAllByItemOwnerInPast(userId,
-                                currentTime,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case FUTURE:
-                result = bookingDao.findAllByItemOwnerInFuture(userId,
-                                currentTime,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case CURRENT:
-                result = bookingDao.findAllByItemOwnerCurrent(userId,
-                                currentTime,
-                                currentTime,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case WAITING:
-                result = bookingDao.findAllByItemOwnerAndStatus(userId,
-                                BookingStatus.WAITING,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            case REJECTED:
-                result = bookingDao.findAllByItemOwnerAndStatus(userId,
-                                BookingStatus.REJECTED,
-                                pageRequest).stream()
-                        .map(mapper::toBookingDto)
-                        .collect(Collectors.toList());
-                break;
-            default:
-                throw new WrongStateException(String.format("Состояние бронирования %s недопустимо.", state));
+        try (Stream<Booking> bookings = bookingDao.streamAllByState(BookingRole.OWNER, userId, state,
+                LocalDateTime.now(), from, to)) {
+            bookings.map(mapper::toBookingDto)
+                    .forEach(action);
         }
-        return result;
+    }
+
+    private List<BookingDto> findAllByState(BookingRole role, BookingState state, Long userId,
+                                            BookingCursor after, long offset, int size) {
+        checkUserNotNullAndExist(userId);
+        return bookingDao.findAllByState(role, userId, state, LocalDateTime.now(), after, offset, size).stream()
+                .map(mapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingDao.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                // Параллельная транзакция успела занять тот же интервал
+                throw overlapException(booking.getItem().getId());
+            }
+            throw e;
+        }
+    }
+
+    // Нарушение bookings_no_overlap: Hibernate не всегда извлекает имя ограничения исключения (EXCLUDE),
+    // поэтому проверяется и SQLState exclusion_violation
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraint = ((ConstraintViolationException) cause).getConstraintName();
+                if (OVERLAP_CONSTRAINT.equalsIgnoreCase(constraint)) {
+                    return true;
+                }
+            }
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ItemNotAvailableForBookingException overlapException(Long itemId) {
+        return new ItemNotAvailableForBookingException(String
+                .format("Предмет с id = %s уже забронирован на это время", itemId));
     }
 
     private void checkUserNotNullAndExist(Long userId) {
@@ -212,10 +197,12 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private Booking getBookingById(Long bookingId) {
-        return bookingDao.findById(bookingId).orElseThrow(() -> {
-            throw new BookingNotFoundException(String
-                    .format("Бронирование с id = %s не найден.", bookingId));
-        });
+        return bookingDao.findById(bookingId).orElseThrow(() -> bookingNotFound(bookingId));
+    }
+
+    private static BookingNotFoundException bookingNotFound(Long bookingId) {
+        return new BookingNotFoundException(String
+                .format("Бронирование с id = %s не найден.", bookingId));
     }
 
     private Item getItemById(Long itemId) {
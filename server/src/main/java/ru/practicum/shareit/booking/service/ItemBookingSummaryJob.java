@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Периодически пересчитывает устаревшие сводки бронирований: следующее бронирование, которое уже началось,
+ * и текущее, которое закончилось, переходят в last. Пока сводка не пересчитана, чтение предмета идет по
+ * таблице бронирований, поэтому задержка задачи влияет только на скорость, а не на ответ.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemBookingSummaryJob {
+    // Каждая порция пересчитывается в отдельной транзакции
+    static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryService summaryService;
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.refresh-delay:60000}",
+            initialDelayString = "${shareit.booking.summary.refresh-delay:60000}")
+    public void refreshStale() {
+        LocalDateTime currentTime = LocalDateTime.now();
+        int total = 0;
+        int refreshed;
+        do {
+            refreshed = summaryService.refreshStale(currentTime, BATCH_SIZE);
+            total += refreshed;
+        } while (refreshed == BATCH_SIZE);
+        if (total > 0) {
+            log.debug("Пересчитано сводок бронирований: {}.", total);
+        }
+    }
+}
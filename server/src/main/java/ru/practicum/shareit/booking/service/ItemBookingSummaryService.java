@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface ItemBookingSummaryService {
+
+    /**
+     * Создает пустые сводки для новых вещей.
+     */
+    void createAll(Collection<Long> itemIds);
+
+    /**
+     * Пересчитывает сводки вещей по таблице бронирований относительно момента currentTime.
+     */
+    void refreshAll(Collection<Long> itemIds, LocalDateTime currentTime);
+
+    /**
+     * @return - актуальные на момент currentTime сводки по id вещи; устаревших и отсутствующих в ответе нет.
+     */
+    Map<Long, ItemBookingSummary> findFresh(Collection<Long> itemIds, LocalDateTime currentTime);
+
+    /**
+     * Пересчитывает не более limit устаревших сводок.
+     *
+     * @return - число пересчитанных сводок.
+     */
+    int refreshStale(LocalDateTime currentTime, int limit);
+
+    /**
+     * Помечает устаревшими сводки вещей, которые бронировал пользователь.
+     */
+    void invalidateForBooker(Long bookerId);
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.dto.BookingItemStats;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository summaryDao;
+    private final BookingRepository bookingDao;
+
+    @Override
+    public void createAll(Collection<Long> itemIds) {
+        summaryDao.saveAll(itemIds.stream()
+                .map(ItemBookingSummary::new)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void refreshAll(Collection<Long> itemIds, LocalDateTime currentTime) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        // Сначала блокировка сводок, потом чтение бронирований: так видны все зафиксированные до нее
+        Map<Long, ItemBookingSummary> summaries = summaryDao.findAllLockedByItemIdIn(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        for (Long itemId : itemIds) {
+            ItemBookingSummary summary = summaries.computeIfAbsent(itemId, ItemBookingSummary::new);
+            summary.setNextBooking(null);
+            summary.setLastBooking(null);
+            summary.setBookingsCount(0);
+            summary.setValidUntil(null);
+        }
+
+        // Та же выборка, что раньше выполнялась при каждом чтении предмета
+        for (BookingShort booking : bookingDao.findNearestBookingsForItems(itemIds, currentTime)) {
+            ItemBookingSummary summary = summaries.get(booking.getItemId());
+            if (booking.getStart().isAfter(currentTime)) {
+                if (summary.getNextBookingId() == null) {
+                    summary.setNextBooking(booking);
+                }
+            } else if (summary.getLastBookingId() == null) {
+                summary.setLastBooking(booking);
+            }
+        }
+        for (BookingItemStats stats : bookingDao.findItemStats(itemIds, currentTime)) {
+            ItemBookingSummary summary = summaries.get(stats.getItemId());
+            summary.setBookingsCount(stats.getTotal());
+            summary.setValidUntil(earliest(summary.getNextStart(), stats.getNearestEnd()));
+        }
+        summaryDao.saveAll(summaries.values());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, ItemBookingSummary> findFresh(Collection<Long> itemIds, LocalDateTime currentTime) {
+        return summaryDao.findAllById(itemIds).stream()
+                .filter(summary -> summary.isFreshAt(currentTime))
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+    }
+
+    @Override
+    public int refreshStale(LocalDateTime currentTime, int limit) {
+        List<Long> itemIds = summaryDao.findAllStaleItemIds(currentTime, PageRequest.ofSize(limit));
+        refreshAll(itemIds, currentTime);
+        return itemIds.size();
+    }
+
+    @Override
+    public void invalidateForBooker(Long bookerId) {
+        summaryDao.invalidateAllByBookerId(bookerId, LocalDateTime.now());
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isBefore(second) ? first : second;
+    }
+}
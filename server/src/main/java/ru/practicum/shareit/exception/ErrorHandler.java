@@ -2,6 +2,7 @@ package ru.practicum.shareit.exception;
 
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -48,6 +49,13 @@ public class ErrorHandler {
         return new ErrorResponse("Неверное состояние бронирования в запросе.", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse optimisticLockingFailureException(OptimisticLockingFailureException e) {
+        log.warn("Объект изменен параллельным запросом. {}", e.getMessage());
+        return new ErrorResponse("Объект изменен параллельным запросом, повторите запрос.", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse generalException(Throwable e) {
@@ -1,16 +1,24 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForOut;
+import ru.practicum.shareit.item.service.ItemBulkService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.util.CustomPageRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,6 +27,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemService service;
+    private final ItemBulkService bulkService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Добавляет новый предмет.
@@ -35,6 +45,36 @@ public class ItemController {
         return service.addItem(itemDto, ownerId);
     }
 
+    /**
+     * Создает предметы без id и обновляет предметы с id одним пакетом.
+     *
+     * @param itemDtos - предметы в формате ItemDto (JSON-массив).
+     * @param ownerId  - id собственника предметов.
+     * @return - результат по каждой строке в порядке входных данных.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<ItemBulkResult> saveItems(@RequestBody List<ItemDto> itemDtos,
+                                          @RequestHeader("X-Sharer-User-Id") Long ownerId) {
+        log.info("=== Call 'saveItems' with {} items, ownerId {}.", itemDtos.size(), ownerId);
+        return bulkService.saveItems(itemDtos, ownerId);
+    }
+
+    /**
+     * То же, что saveItems, но предметы приходят потоком NDJSON: один ItemDto в строке.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public List<ItemBulkResult> saveItemsNdjson(InputStream body,
+                                                @RequestHeader("X-Sharer-User-Id") Long ownerId) throws IOException {
+        List<ItemDto> itemDtos;
+        try (MappingIterator<ItemDto> rows = objectMapper.readerFor(ItemDto.class).readValues(body)) {
+            itemDtos = rows.readAll();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Некорректная строка NDJSON: " + e.getOriginalMessage());
+        }
+        log.info("=== Call 'saveItemsNdjson' with {} items, ownerId {}.", itemDtos.size(), ownerId);
+        return bulkService.saveItems(itemDtos, ownerId);
+    }
+
     /**
      * Обновляет данные предмета.
      *
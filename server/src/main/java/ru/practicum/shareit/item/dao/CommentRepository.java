@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item.dao;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -17,7 +19,12 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             "AND b.end < ?3")
     List<Booking> findAllByItem_IdAndAuthor_Id(Long itemId, Long userId, LocalDateTime now);
 
+    @EntityGraph("Comment.author")
     List<Comment> findAllByItem_Id(Long itemId);
 
+    @EntityGraph("Comment.author")
+    List<Comment> findAllByItem_IdIn(Collection<Long> itemIds);
+
+    @EntityGraph("Comment.author")
     List<Comment> findAllByAuthor_Id(Long userId);
 }
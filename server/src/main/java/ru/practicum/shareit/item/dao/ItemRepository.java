@@ -5,13 +5,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    // На PostgreSQL выражения upper(...) покрыты триграммными GIN-индексами (V3__items_search_trgm.sql)
     @Query(" SELECT i FROM Item AS i " +
-            "WHERE upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
-            "OR upper(i.description) LIKE upper(concat('%', ?1, '%') ) ")
+            "WHERE i.available = TRUE " +
+            "AND (upper(i.name) LIKE upper(concat('%', ?1, '%')) " +
+            "OR upper(i.description) LIKE upper(concat('%', ?1, '%'))) ")
     List<Item> findAllBySearchParam(String text, PageRequest pageRequest);
 
     @Query("SELECT i " +
@@ -21,6 +24,6 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerId(Long ownerId, PageRequest pageRequest);
 
     @Query("SELECT i FROM Item AS i " +
-            "WHERE i.request.id = ?1")
-    List<Item> findAllByRequestId(Long requestId);
+            "WHERE i.request.id IN ?1")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Результат обработки одной строки пакетного создания/обновления предметов.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ItemBulkResult {
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+
+    // Номер строки во входных данных, с нуля
+    private final int index;
+    private final Status status;
+    private final ItemDto item;
+    private final String error;
+
+    public static ItemBulkResult created(int index, ItemDto item) {
+        return new ItemBulkResult(index, Status.CREATED, item, null);
+    }
+
+    public static ItemBulkResult updated(int index, ItemDto item) {
+        return new ItemBulkResult(index, Status.UPDATED, item, null);
+    }
+
+    public static ItemBulkResult failed(int index, String error) {
+        return new ItemBulkResult(index, Status.FAILED, null, error);
+    }
+}
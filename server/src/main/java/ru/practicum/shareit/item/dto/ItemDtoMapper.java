@@ -1,7 +1,7 @@
 package ru.practicum.shareit.item.dto;
 
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -21,7 +21,7 @@ public class ItemDtoMapper {
                 .build();
     }
 
-    public ItemDtoForOut itemToDtoForOut(Item item, Booking next, Booking last, List<CommentDto> comments) {
+    public ItemDtoForOut itemToDtoForOut(Item item, BookingShort next, BookingShort last, List<CommentDto> comments) {
         return ItemDtoForOut.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -29,9 +29,9 @@ public class ItemDtoMapper {
                 .available(item.getAvailable())
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
                 .nextBooking(next == null ? null : ItemDtoForOut
-                        .createItemBooking(next.getId(), next.getBooker().getId()))
+                        .createItemBooking(next.getId(), next.getBookerId()))
                 .lastBooking(last == null ? null : ItemDtoForOut
-                        .createItemBooking(last.getId(), last.getBooker().getId()))
+                        .createItemBooking(last.getId(), last.getBookerId()))
                 .comments(comments)
                 .build();
     }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+public interface ItemBulkService {
+
+    /**
+     * Создает предметы без id и обновляет предметы с id.
+     * Ошибка в строке не прерывает обработку остальных строк.
+     *
+     * @param itemDtos - предметы в порядке строк входных данных.
+     * @param userId   - id собственника.
+     * @return - результат по каждой строке в том же порядке.
+     */
+    List<ItemBulkResult> saveItems(List<ItemDto> itemDtos, Long userId);
+}
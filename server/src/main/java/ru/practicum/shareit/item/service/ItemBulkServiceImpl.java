@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ItemBulkServiceImpl implements ItemBulkService {
+    // Кратно hibernate.jdbc.batch_size; после каждой порции контекст персистентности очищается
+    static final int FLUSH_SIZE = 500;
+
+    private final ItemRepository itemDao;
+    private final UserRepository userDao;
+    private final ItemRequestRepository requestDao;
+    private final ItemDtoMapper mapper;
+    private final ItemSearchIndex searchIndex;
+    private final ItemBookingSummaryService summaryService;
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ItemBulkResult> saveItems(List<ItemDto> itemDtos, Long userId) {
+        User owner = userDao.findById(userId).orElseThrow(() -> new UserNotFoundException(String
+                .format("Пользователь с id = %s не найден.", userId)));
+        Map<Long, ItemRequest> requests = findAllById(itemDtos, ItemDto::getRequestId, requestDao::findAllById,
+                ItemRequest::getId);
+
+        List<ItemBulkResult> results = new ArrayList<>(itemDtos.size());
+        List<Item> saved = new ArrayList<>(itemDtos.size());
+        for (int from = 0; from < itemDtos.size(); from += FLUSH_SIZE) {
+            List<Long> createdIds = new ArrayList<>();
+            List<ItemDto> chunk = itemDtos.subList(from, Math.min(from + FLUSH_SIZE, itemDtos.size()));
+            Map<Long, Item> existing = findAllById(chunk, ItemDto::getId, itemDao::findAllById, Item::getId);
+            for (int i = 0; i < chunk.size(); i++) {
+                ItemDto itemDto = chunk.get(i);
+                int index = from + i;
+                String error = itemDto.getId() == null
+                        ? checkNewItem(itemDto, requests)
+                        : checkUpdate(itemDto, existing.get(itemDto.getId()), userId, requests);
+                if (error != null) {
+                    results.add(ItemBulkResult.failed(index, error));
+                    continue;
+                }
+                ItemRequest request = itemDto.getRequestId() != null ? requests.get(itemDto.getRequestId()) : null;
+                if (itemDto.getId() == null) {
+                    Item item = itemDao.save(mapper.dtoToItem(itemDto, owner, request));
+                    createdIds.add(item.getId());
+                    saved.add(item);
+                    results.add(ItemBulkResult.created(index, mapper.itemToDto(item)));
+                } else {
+                    Item item = existing.get(itemDto.getId());
+                    applyUpdate(item, itemDto, request);
+                    saved.add(item);
+                    results.add(ItemBulkResult.updated(index, mapper.itemToDto(item)));
+                }
+            }
+            summaryService.createAll(createdIds);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        searchIndex.updateAll(saved);
+        return results;
+    }
+
+    private static String checkNewItem(ItemDto itemDto, Map<Long, ItemRequest> requests) {
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Название не может быть пустым.";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Описание не должно быть пустым";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Available должна быть указана";
+        }
+        return checkRequest(itemDto, requests);
+    }
+
+    private static String checkUpdate(ItemDto itemDto, Item item, Long userId, Map<Long, ItemRequest> requests) {
+        if (item == null) {
+            return String.format("Предмет с id = %s не найден.", itemDto.getId());
+        }
+        if (!item.getOwner().getId().equals(userId)) {
+            return String.format("Пользователь с id = %s не является собственником предмета с id = %s.",
+                    userId, item.getId());
+        }
+        return checkRequest(itemDto, requests);
+    }
+
+    private static String checkRequest(ItemDto itemDto, Map<Long, ItemRequest> requests) {
+        if (itemDto.getRequestId() != null && !requests.containsKey(itemDto.getRequestId())) {
+            return String.format("Request с id %s не найден.", itemDto.getRequestId());
+        }
+        return null;
+    }
+
+    // Те же правила, что у updateItem: незаданные поля не меняются
+    private static void applyUpdate(Item item, ItemDto itemDto, ItemRequest request) {
+        if (itemDto.getName() != null) {
+            item.setName(itemDto.getName());
+        }
+        if (itemDto.getDescription() != null) {
+            item.setDescription(itemDto.getDescription());
+        }
+        if (itemDto.getAvailable() != null) {
+            item.setAvailable(itemDto.getAvailable());
+        }
+        if (request != null) {
+            item.setRequest(request);
+        }
+    }
+
+    private static <T> Map<Long, T> findAllById(List<ItemDto> itemDtos, Function<ItemDto, Long> idGetter,
+                                                Function<Set<Long>, List<T>> finder, Function<T, Long> entityId) {
+        Set<Long> ids = itemDtos.stream()
+                .map(idGetter)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return finder.apply(ids).stream()
+                .collect(Collectors.toMap(entityId, Function.identity()));
+    }
+}
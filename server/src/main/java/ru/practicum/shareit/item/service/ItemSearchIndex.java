@@ -0,0 +1,316 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory триграммный индекс по названию и описанию доступных предметов.
+ * <p>
+ * Повторяет семантику поиска ItemRepository.findAllBySearchParam (подстрока без учета регистра):
+ * кандидаты получаются пересечением списков id по триграммам запроса, загружаются из репозитория
+ * (предметы в кэше второго уровня) и проверяются по названию и описанию. Индекс хранит только списки id
+ * отсортированными массивами long, тексты предметов в памяти не повторяются.
+ * Включается свойством shareit.search.index.enabled, иначе поиск идет через БД.
+ * <p>
+ * Изменения только добавляют id в списки: старые триграммы измененного предмета и id удаленного остаются
+ * до следующего построения и дают лишних кандидатов, которых отсеивает проверка по загруженному предмету.
+ * <p>
+ * Индекс строится заново без блокировки и подменяет прежний одной ссылкой, так что поиск и изменения
+ * предметов во время построения не ждут чтения всей таблицы. Изменения, пришедшие во время построения,
+ * применяются к прежнему индексу и запоминаются, чтобы повторить их на новом перед подменой.
+ */
+@Component
+@Slf4j
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final int CANDIDATE_BATCH_SIZE = 100;
+
+    private final ItemRepository itemDao;
+    private final boolean enabled;
+
+    // Блокировка защищает изменения текущего индекса и список отложенных изменений
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Index index;
+    private List<Consumer<Index>> pendingChanges;
+
+    @Autowired
+    public ItemSearchIndex(ItemRepository itemDao,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemDao = itemDao;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index built = null;
+        try {
+            built = load();
+        } finally {
+            swap(built);
+        }
+    }
+
+    /**
+     * Ищет доступные предметы по подстроке в названии или описании.
+     *
+     * @param text        - фраза для поиска.
+     * @param pageRequest - смещение и размер страницы.
+     * @return - найденные предметы по возрастанию id или null, если индекс не может ответить
+     * (выключен, еще не построен или запрос короче триграммы).
+     */
+    public List<Item> search(String text, PageRequest pageRequest) {
+        if (index == null || text.length() < GRAM) {
+            return null;
+        }
+        String query = text.toUpperCase();
+        long toSkip = pageRequest.getOffset();
+        List<Item> result = new ArrayList<>();
+        long afterId = Long.MIN_VALUE;
+        while (result.size() < pageRequest.getPageSize()) {
+            List<Long> candidates = candidates(query, afterId);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            List<Item> items = itemDao.findAllById(candidates);
+            items.sort(Comparator.comparing(Item::getId));
+            for (Item item : items) {
+                if (!matches(item, query)) {
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                } else if (result.size() < pageRequest.getPageSize()) {
+                    result.add(item);
+                }
+            }
+            afterId = candidates.get(candidates.size() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * Добавляет или обновляет предмет в индексе после фиксации текущей транзакции.
+     */
+    public void update(Item item) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> apply(target -> target.put(item)));
+    }
+
+    /**
+     * Добавляет или обновляет предметы в индексе после фиксации текущей транзакции, под одной блокировкой.
+     */
+    public void updateAll(Collection<Item> items) {
+        if (!enabled || items.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> apply(target -> items.forEach(target::put)));
+    }
+
+    /**
+     * Следующие CANDIDATE_BATCH_SIZE кандидатов после afterId: id, у которых есть все триграммы запроса.
+     */
+    private List<Long> candidates(String query, long afterId) {
+        lock.readLock().lock();
+        try {
+            Index current = index;
+            List<PostingList> lists = new ArrayList<>();
+            for (long gram : grams(query)) {
+                PostingList list = current.postings.get(gram);
+                if (list == null) {
+                    return new ArrayList<>();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            List<Long> result = new ArrayList<>();
+            PostingList smallest = lists.get(0);
+            for (int i = smallest.indexAfter(afterId); i < smallest.size() && result.size() < CANDIDATE_BATCH_SIZE;
+                 i++) {
+                long id = smallest.get(i);
+                if (containsInAll(lists, id)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Index load() {
+        Index built = new Index();
+        PageRequest pageRequest = PageRequest.of(0, BUILD_BATCH_SIZE, Sort.by("id"));
+        Page<Item> page;
+        do {
+            page = itemDao.findAll(pageRequest);
+            page.forEach(built::put);
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+        log.info("Индекс поиска предметов построен: {} предметов, {} триграмм.",
+                page.getTotalElements(), built.postings.size());
+        return built;
+    }
+
+    /**
+     * Повторяет на построенном индексе изменения, пришедшие во время построения, и подменяет им текущий.
+     * Изменение только добавляет id в списки, поэтому повтор уже прочитанного изменения безвреден.
+     * Если построение не удалось, остается прежний индекс.
+     */
+    private void swap(Index built) {
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                pendingChanges.forEach(change -> change.accept(built));
+                index = built;
+            }
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Item item, String query) {
+        return Boolean.TRUE.equals(item.getAvailable())
+                && (upper(item.getName()).contains(query) || upper(item.getDescription()).contains(query));
+    }
+
+    private static String upper(String value) {
+        return value == null ? "" : value.toUpperCase();
+    }
+
+    private static Set<Long> grams(String... values) {
+        Set<Long> result = new HashSet<>();
+        for (String value : values) {
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                result.add(((long) value.charAt(i) << 32)
+                        | ((long) value.charAt(i + 1) << 16)
+                        | value.charAt(i + 2));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Списки id по триграммам доступных предметов.
+     */
+    private static class Index {
+        private final Map<Long, PostingList> postings = new HashMap<>();
+
+        void put(Item item) {
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                return;
+            }
+            for (long gram : grams(upper(item.getName()), upper(item.getDescription()))) {
+                postings.computeIfAbsent(gram, g -> new PostingList()).add(item.getId());
+            }
+        }
+    }
+
+    /**
+     * Отсортированный по возрастанию список id на массиве long.
+     */
+    static class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            // id новых предметов растут, поэтому обычно это добавление в конец
+            int position = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        /**
+         * @return - позиция первого id больше заданного.
+         */
+        int indexAfter(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            return position >= 0 ? position + 1 : -(position + 1);
+        }
+    }
+}
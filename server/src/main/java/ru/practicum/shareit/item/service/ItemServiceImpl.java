@@ -5,7 +5,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.RequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
@@ -22,7 +24,9 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,39 +40,34 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestRepository requestDao;
     private final ItemDtoMapper mapper;
     private final CommentDtoMapper commentDtoMapper;
+    private final ItemSearchIndex searchIndex;
+    private final ItemBookingSummaryService summaryService;
 
     @Override
     public ItemDtoForOut getItem(Long itemId, Long userId) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        Booking next;
-        Booking last;
         Item item = getItemById(itemId);
-        next = bookingDao.findAllNextBookingsForItem(itemId, currentTime, userId).stream()
-                .findFirst()
-                .orElse(null);
-        last = bookingDao.findAllLastBookingsForItem(itemId, currentTime, userId).stream()
-                .findFirst()
-                .orElse(null);
-
-        List<CommentDto> commentList = commentDao.findAllByItem_Id(itemId).stream()
-                .map(commentDtoMapper::commentToDto).collect(Collectors.toList());
-
-        return mapper.itemToDtoForOut(item, next, last, commentList);
+        // Бронирования показываются только собственнику предмета
+        boolean withBookings = item.getOwner().getId().equals(userId);
+        return itemsToDtoForOut(List.of(item), withBookings).get(0);
     }
 
     @Override
     public List<ItemDtoForOut> getAllItems(Long ownerId, PageRequest pageRequest) {
-        return itemDao.findAllByOwnerId(ownerId, pageRequest).stream()
-                .map(item -> getItem(item.getId(), ownerId))
-                .collect(Collectors.toList());
+        List<Item> items = itemDao.findAllByOwnerId(ownerId, pageRequest);
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemsToDtoForOut(items, true);
     }
 
     @Override
     @Transactional
     public ItemDto addItem(ItemDto itemDto, Long userId) {
         ItemRequest request = getRequestByItemDto(itemDto);
-        Item item = mapper.dtoToItem(itemDto, getUserById(userId), request);
-        return mapper.itemToDto(itemDao.save(item));
+        Item item = itemDao.save(mapper.dtoToItem(itemDto, getUserById(userId), request));
+        summaryService.createAll(List.of(item.getId()));
+        searchIndex.update(item);
+        return mapper.itemToDto(item);
     }
 
     @Override
@@ -79,7 +78,9 @@ public class ItemServiceImpl implements ItemService {
         Item item = mapper.dtoToItem(itemDto, getUserById(userId), request);
         Item itemFromRepository = getItemById(itemId);
         itemFieldsMapping(item, itemFromRepository);
-        return mapper.itemToDto(itemDao.save(item));
+        item = itemDao.save(item);
+        searchIndex.update(item);
+        return mapper.itemToDto(item);
     }
 
     @Override
@@ -94,8 +95,13 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
+        List<Item> found = searchIndex.search(text, pageRequest);
+        if (found != null) {
+            return found.stream()
+                    .map(mapper::itemToDto)
+                    .collect(Collectors.toList());
+        }
         return itemDao.findAllBySearchParam(text, pageRequest).stream()
-                .filter(Item::getAvailable)
                 .map(mapper::itemToDto)
                 .collect(Collectors.toList());
     }
@@ -123,6 +129,55 @@ public class ItemServiceImpl implements ItemService {
         return commentDtoMapper.commentToDto(comment);
     }
 
+    /**
+     * Собирает ItemDtoForOut для списка предметов за фиксированное число запросов,
+     * независимо от размера списка.
+     *
+     * @param items        - предметы.
+     * @param withBookings - подгружать ли ближайшие бронирования.
+     * @return - список предметов в формате ItemDtoForOut в исходном порядке.
+     */
+    private List<ItemDtoForOut> itemsToDtoForOut(List<Item> items, boolean withBookings) {
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, BookingShort> nextBookings = new HashMap<>();
+        Map<Long, BookingShort> lastBookings = new HashMap<>();
+        if (withBookings) {
+            // Актуальные сводки читаются по первичному ключу, по таблице бронирований - только остальные
+            Map<Long, ItemBookingSummary> summaries = summaryService.findFresh(itemIds, currentTime);
+            summaries.values().forEach(summary -> {
+                nextBookings.put(summary.getItemId(), summary.getNextBooking());
+                lastBookings.put(summary.getItemId(), summary.getLastBooking());
+            });
+            List<Long> staleIds = itemIds.stream()
+                    .filter(itemId -> !summaries.containsKey(itemId))
+                    .collect(Collectors.toList());
+            if (!staleIds.isEmpty()) {
+                for (BookingShort booking : bookingDao.findNearestBookingsForItems(staleIds, currentTime)) {
+                    if (booking.getStart().isAfter(currentTime)) {
+                        nextBookings.putIfAbsent(booking.getItemId(), booking);
+                    } else {
+                        lastBookings.putIfAbsent(booking.getItemId(), booking);
+                    }
+                }
+            }
+        }
+
+        Map<Long, List<CommentDto>> comments = commentDao.findAllByItem_IdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentDtoMapper::commentToDto, Collectors.toList())));
+
+        return items.stream()
+                .map(item -> mapper.itemToDtoForOut(item,
+                        nextBookings.get(item.getId()),
+                        lastBookings.get(item.getId()),
+                        comments.getOrDefault(item.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
     private void itemExistCheck(Long itemId) {
         if (!itemDao.existsById(itemId)) {
             throw new ItemNotFoundException(String
@@ -141,7 +196,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private void itemOwnerCheck(Item item, User user) {
-        if (!item.getOwner().equals(user)) {
+        if (!item.getOwner().getId().equals(user.getId())) {
             throw new WrongOwnerException(String
                     .format("Пользователь %s не является собственником предмета %s.", user, item));
         }
@@ -167,6 +222,7 @@ public class ItemServiceImpl implements ItemService {
         if (itemFor.getRequest() == null) {
             itemFor.setRequest(itemFrom.getRequest());
         }
+        itemFor.setVersion(itemFrom.getVersion());
     }
 
     private ItemRequest getRequestById(Long requestId) {
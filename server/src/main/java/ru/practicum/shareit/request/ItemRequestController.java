@@ -3,6 +3,8 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -30,9 +32,15 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDtoForOut> getAllOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("=== Call 'getAllOwnRequests' with userId {}.", userId);
-        return service.getAllOwnRequests(userId);
+    public List<ItemRequestDtoForOut> getAllOwnRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestParam(value = "from", defaultValue = "0") int from,
+                                                        @RequestParam(value = "size", required = false) Integer size) {
+        log.info("=== Call 'getAllOwnRequests' with userId {}, from {}, size {}.", userId, from, size);
+        // Без size возвращаются все запросы пользователя, как до появления пагинации
+        final Pageable pageable = size != null
+                ? CustomPageRequest.of(from, size, Sort.unsorted())
+                : Pageable.unpaged();
+        return service.getAllOwnRequests(pageable, userId);
     }
 
     @GetMapping("/all")
@@ -41,7 +49,8 @@ public class ItemRequestController {
                                                    @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("=== Call 'getAllPaging' with from {}, size {}, userId {}.",
                 from, size, userId);
-        final PageRequest pageRequest = CustomPageRequest.of(from, size);
+        Sort orderByCreated = Sort.by(Sort.Direction.DESC, "created");
+        final PageRequest pageRequest = CustomPageRequest.of(from, size, orderByCreated);
         return service.getAllPaging(pageRequest, userId);
     }
 
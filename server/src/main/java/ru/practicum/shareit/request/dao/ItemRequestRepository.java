@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.dao;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -12,7 +13,7 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, java.l
     @Query("SELECT r FROM ItemRequest r " +
             "WHERE r.requestor.id = ?1 " +
             "ORDER BY r.created DESC ")
-    List<ItemRequest> findAllByOwner(Long userId);
+    List<ItemRequest> findAllByOwner(Long userId, Pageable pageable);
 
     List<ItemRequest> findAllByRequestorIdIsNot(Long userId, PageRequest pageRequest);
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoForOut;
 
@@ -10,7 +11,7 @@ public interface ItemRequestService {
 
     ItemRequestDto addRequest(ItemRequestDto requestDto, Long userId);
 
-    List<ItemRequestDtoForOut> getAllOwnRequests(Long userId);
+    List<ItemRequestDtoForOut> getAllOwnRequests(Pageable pageable, Long userId);
 
     List<ItemRequestDtoForOut> getAllPaging(PageRequest pageRequest, Long userId);
 
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.RequestNotFoundException;
@@ -18,7 +19,9 @@ import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,29 +46,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDtoForOut> getAllOwnRequests(Long userId) {
+    public List<ItemRequestDtoForOut> getAllOwnRequests(Pageable pageable, Long userId) {
         isUserExistCheck(userId);
-        return dao.findAllByOwner(userId).stream()
-                .map(request -> mapper.toRequestDtoForOut(request, getItemDtoList(request)))
-                .collect(Collectors.toList());
+        return toRequestDtoForOutList(dao.findAllByOwner(userId, pageable));
     }
 
     @Override
     public List<ItemRequestDtoForOut> getAllPaging(PageRequest pageRequest, Long userId) {
         isUserExistCheck(userId);
-        return dao.findAllByRequestorIdIsNot(userId, pageRequest).stream()
-                .map(request -> mapper.toRequestDtoForOut(request, getItemDtoList(request)))
-                .collect(Collectors.toList());
+        return toRequestDtoForOutList(dao.findAllByRequestorIdIsNot(userId, pageRequest));
     }
 
     @Override
     public ItemRequestDtoForOut getById(Long requestId, Long userId) {
         isUserExistCheck(userId);
-        return dao.findById(requestId).stream()
-                .map(request -> mapper.toRequestDtoForOut(request, getItemDtoList(request)))
-                .findFirst()
+        ItemRequest request = dao.findById(requestId)
                 .orElseThrow(() -> new RequestNotFoundException(String
                         .format("Request с id %s не найден.", requestId)));
+        return toRequestDtoForOutList(List.of(request)).get(0);
     }
 
     private User getUserById(Long userId) {
@@ -77,9 +75,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         getUserById(userId);
     }
 
-    private List<ItemDto> getItemDtoList(ItemRequest request) {
-        return itemDao.findAllByRequestId(request.getId()).stream()
-                .map(itemDtoMapper::itemToDto)
+    /**
+     * Собирает запросы вместе с предметами, загружая предметы всех запросов одним запросом к БД.
+     */
+    private List<ItemRequestDtoForOut> toRequestDtoForOutList(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<ItemDto>> items = itemDao.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemDtoMapper::itemToDto, Collectors.toList())));
+        return requests.stream()
+                .map(request -> mapper.toRequestDtoForOut(request,
+                        items.getOrDefault(request.getId(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
 }
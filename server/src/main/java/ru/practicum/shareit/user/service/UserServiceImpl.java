@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -18,6 +19,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository dao;
     private final UserDtoMapper mapper;
+    private final ItemBookingSummaryService summaryService;
 
     @Override
     public UserDto getUser(Long userId) {
@@ -53,6 +55,8 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUser(Long userId) {
         isUserExist(userId);
+        // Бронирования пользователя удаляются каскадно, сводки вещей с ними нужно пересчитать
+        summaryService.invalidateForBooker(userId);
         dao.deleteById(userId);
     }
 
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Пишет объекты в тело ответа по одному JSON в строке (application/x-ndjson), не накапливая их в памяти.
+ * <p>
+ * Заголовки выставляются при первой записи: исключение до нее (например, пользователь не найден)
+ * обрабатывается ErrorHandler как обычно.
+ */
+public class NdjsonResponseWriter {
+    private final HttpServletResponse response;
+    private final ObjectWriter writer;
+    private OutputStream out;
+
+    public NdjsonResponseWriter(HttpServletResponse response, ObjectMapper objectMapper) {
+        this.response = response;
+        this.writer = objectMapper.writer();
+    }
+
+    public void write(Object value) {
+        try {
+            OutputStream stream = out();
+            stream.write(writer.writeValueAsBytes(value));
+            stream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Завершает ответ; для пустого результата выставляет заголовки.
+     */
+    public void finish() throws IOException {
+        out().flush();
+    }
+
+    private OutputStream out() throws IOException {
+        if (out == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            out = response.getOutputStream();
+        }
+        return out;
+    }
+}
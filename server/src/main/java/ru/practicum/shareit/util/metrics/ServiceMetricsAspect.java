@@ -0,0 +1,73 @@
+package ru.practicum.shareit.util.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.booking.model.BookingState;
+
+/**
+ * Таймер shareit.service на каждый вызов методов ItemService, BookingService, ItemRequestService и UserService.
+ * <p>
+ * Теги: service - интерфейс сервиса, method - имя метода, state - аргумент BookingState в выборках бронирований
+ * (none у остальных методов), exception - простое имя класса выброшенного исключения (none при успехе).
+ * Каждое исключение дополнительно увеличивает счетчик shareit.service.exceptions с теми же тегами
+ * service, method и exception. Набор ключей тегов у метрики один, как того требует Prometheus.
+ * <p>
+ * Аспект выполняется снаружи транзакции: время включает коммит, исключения при коммите тоже считаются.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    static final String TIMER = "shareit.service";
+    static final String EXCEPTIONS = "shareit.service.exceptions";
+    static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    @Pointcut("execution(* ru.practicum.shareit.item.service.ItemService.*(..))"
+            + " || execution(* ru.practicum.shareit.booking.service.BookingService.*(..))"
+            + " || execution(* ru.practicum.shareit.request.service.ItemRequestService.*(..))"
+            + " || execution(* ru.practicum.shareit.user.service.UserService.*(..))")
+    public void serviceMethods() {
+    }
+
+    @Around("serviceMethods()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        String state = state(joinPoint.getArgs());
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            registry.counter(EXCEPTIONS, "service", service, "method", method, "exception", exception)
+                    .increment();
+            throw e;
+        } finally {
+            sample.stop(registry.timer(TIMER, Tags.of(
+                    "service", service,
+                    "method", method,
+                    "state", state,
+                    "exception", exception)));
+        }
+    }
+
+    private static String state(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingState) {
+                return ((BookingState) arg).name();
+            }
+        }
+        return NONE;
+    }
+}
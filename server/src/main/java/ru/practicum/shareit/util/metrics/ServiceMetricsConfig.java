@@ -0,0 +1,19 @@
+package ru.practicum.shareit.util.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Метрики сервисов (ServiceMetricsAspect). Отключаются shareit.service-metrics.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.service-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsConfig {
+
+    @Bean
+    public ServiceMetricsAspect serviceMetricsAspect(MeterRegistry registry) {
+        return new ServiceMetricsAspect(registry);
+    }
+}
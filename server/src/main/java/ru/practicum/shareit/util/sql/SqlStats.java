@@ -0,0 +1,67 @@
+package ru.practicum.shareit.util.sql;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Счетчики SQL текущего HTTP-запроса: выполненные запросы, прочитанные строки и время в JDBC.
+ * <p>
+ * Привязаны к потоку запроса: start() вызывает SqlStatsInterceptor до обработчика, stop() - после.
+ * Пока счетчики не запущены, SqlStatsDataSource отдает соединения без обертки.
+ */
+@Getter
+public class SqlStats {
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    public static SqlStats start() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static SqlStats stop() {
+        SqlStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        if (sql != null) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    /**
+     * @param threshold - сколько раз запрос должен повториться.
+     * @return - запросы, выполненные за HTTP-запрос не меньше threshold раз, с числом выполнений:
+     * один и тот же запрос в цикле по результатам другого - признак N+1.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                result.put(sql, count);
+            }
+        });
+        return result;
+    }
+}
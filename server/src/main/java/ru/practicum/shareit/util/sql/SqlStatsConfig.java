@@ -0,0 +1,48 @@
+package ru.practicum.shareit.util.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Подсчет SQL по HTTP-запросам: источник данных оборачивается в SqlStatsDataSource,
+ * запросы к контроллерам проходят через SqlStatsInterceptor. Отключается shareit.sql-stats.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig implements WebMvcConfigurer {
+    private final ObjectProvider<MeterRegistry> registry;
+    private final int nPlusOneThreshold;
+
+    public SqlStatsConfig(ObjectProvider<MeterRegistry> registry,
+                          @Value("${shareit.sql-stats.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        this.registry = registry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SqlStatsDataSource)) {
+                    return new SqlStatsDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new SqlStatsInterceptor(registry.getIfAvailable(), nPlusOneThreshold));
+    }
+}
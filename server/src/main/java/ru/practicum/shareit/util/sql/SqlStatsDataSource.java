@@ -0,0 +1,130 @@
+package ru.practicum.shareit.util.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Обертка источника данных, которая считает в SqlStats выполненные запросы, время их выполнения
+ * и строки, прочитанные из ResultSet.
+ * <p>
+ * Соединение оборачивается, только если для текущего потока запущены SqlStats, поэтому фоновые задачи,
+ * миграции и пакетные операции вне HTTP-запроса работают с соединением пула напрямую.
+ */
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    public SqlStatsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        SqlStats stats = SqlStats.current();
+        return stats == null ? connection : proxy(Connection.class, new ConnectionHandler(connection, stats));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    // equals сравнивает обертки, а не обернутые объекты: иначе обертка не равна самой себе
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final SqlStats stats;
+
+        ConnectionHandler(Connection target, SqlStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlStatsDataSource.invoke(proxy, target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class,
+                            new StatementHandler((Statement) result, (String) args[0], stats));
+                case "prepareCall":
+                    return proxy(CallableStatement.class,
+                            new StatementHandler((Statement) result, (String) args[0], stats));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler((Statement) result, null, stats));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final SqlStats stats;
+
+        StatementHandler(Statement target, String sql, SqlStats stats) {
+            this.target = target;
+            this.sql = sql;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = SqlStatsDataSource.invoke(proxy, target, method, args);
+                return result instanceof ResultSet && !name.equals("unwrap") ? wrapResultSet((ResultSet) result)
+                        : result;
+            }
+            long started = System.nanoTime();
+            try {
+                Object result = SqlStatsDataSource.invoke(proxy, target, method, args);
+                return result instanceof ResultSet ? wrapResultSet((ResultSet) result) : result;
+            } finally {
+                // У Statement текст запроса передается в execute*, у PreparedStatement - при создании
+                String executed = sql != null ? sql
+                        : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                stats.recordStatement(executed, System.nanoTime() - started);
+            }
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet) {
+            return proxy(ResultSet.class, (proxy, method, args) -> {
+                Object result = SqlStatsDataSource.invoke(proxy, resultSet, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    stats.recordRow();
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.util.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Добавляет SqlStats запроса в заголовки ответа (X-Sql-Statements, X-Sql-Rows, X-Sql-Time в мс) -
+ * для разработки и тестов, включается shareit.sql-stats.headers=true (профили ci и test).
+ * <p>
+ * Заголовки выставляются перед записью тела, когда обработчик уже выполнил все запросы.
+ * Ответы, которые пишутся в поток напрямую (выгрузка NDJSON), их не получают.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(name = "shareit.sql-stats.headers", havingValue = "true")
+public class SqlStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStats stats = SqlStats.current();
+        if (stats != null) {
+            response.getHeaders().set(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            response.getHeaders().set(ROWS_HEADER, String.valueOf(stats.getRows()));
+            response.getHeaders().set(TIME_HEADER,
+                    String.format(Locale.ROOT, "%.3f", stats.getJdbcNanos() / 1_000_000.0));
+        }
+        return body;
+    }
+}
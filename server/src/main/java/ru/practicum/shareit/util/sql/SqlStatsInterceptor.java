@@ -0,0 +1,56 @@
+package ru.practicum.shareit.util.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запускает SqlStats на время обработки запроса контроллером и по завершении пишет их в метрики
+ * shareit.sql.statements, shareit.sql.rows и shareit.sql.time с тегами controller и method.
+ * Запросы, повторенные не меньше nPlusOneThreshold раз, попадают в лог как возможный N+1.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatsInterceptor implements HandlerInterceptor {
+    private final MeterRegistry registry;
+    private final int nPlusOneThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlStats.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStats stats = SqlStats.stop();
+        if (stats == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        if (registry != null) {
+            Tags tags = Tags.of("controller", controller, "method", method);
+            registry.summary("shareit.sql.statements", tags).record(stats.getStatements());
+            registry.summary("shareit.sql.rows", tags).record(stats.getRows());
+            registry.timer("shareit.sql.time", tags).record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        }
+        Map<String, Integer> repeated = stats.repeatedStatements(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            log.warn("Возможный N+1 в {}.{} ({} {}): всего запросов {}, повторяются {}.", controller, method,
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), repeated);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.util.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Spans вызовов контроллеров, сервисов (ItemService, BookingService, ItemRequestService, UserService)
+ * и репозиториев Spring Data. Имя span - интерфейс или класс и метод, например BookingRepository.findById.
+ * <p>
+ * Span репозитория закрывается по возврату из метода: чтение возвращенного Stream в него не входит.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingAspect {
+    private final Tracer tracer;
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName(), SpanKind.INTERNAL);
+    }
+
+    @Around("execution(* ru.practicum.shareit.item.service.ItemService.*(..))"
+            + " || execution(* ru.practicum.shareit.booking.service.BookingService.*(..))"
+            + " || execution(* ru.practicum.shareit.request.service.ItemRequestService.*(..))"
+            + " || execution(* ru.practicum.shareit.user.service.UserService.*(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName(), SpanKind.INTERNAL);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, repositoryName(joinPoint), SpanKind.CLIENT);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String type, SpanKind kind) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.spanBuilder(type + "." + method)
+                .setSpanKind(kind)
+                .setAttribute("code.namespace", type)
+                .setAttribute("code.function", method)
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // Методы вроде findById объявлены в CrudRepository, поэтому имя берется из интерфейса самого репозитория
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("ru.practicum.shareit")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
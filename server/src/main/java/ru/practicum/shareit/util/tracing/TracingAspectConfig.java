@@ -0,0 +1,18 @@
+package ru.practicum.shareit.util.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spans контроллеров, сервисов и репозиториев сервера; общие настройки (OpenTelemetry SDK, TracingFilter) -
+ * в TracingConfig.
+ */
+@Configuration
+public class TracingAspectConfig {
+
+    @Bean
+    public TracingAspect tracingAspect(OpenTelemetry openTelemetry) {
+        return new TracingAspect(openTelemetry.getTracer(TracingConfig.INSTRUMENTATION));
+    }
+}
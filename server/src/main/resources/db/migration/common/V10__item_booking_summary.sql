@@ -0,0 +1,27 @@
+-- Сводка бронирований вещи: карточка предмета читает ее по первичному ключу вместо двух выборок по bookings
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id         BIGINT NOT NULL
+        CONSTRAINT item_booking_summary_pk
+            PRIMARY KEY
+        CONSTRAINT item_booking_summary_items_fk
+            REFERENCES items (item_id)
+            ON DELETE CASCADE,
+    next_booking_id BIGINT,
+    next_booker_id  BIGINT,
+    next_start      TIMESTAMP WITHOUT TIME ZONE,
+    last_booking_id BIGINT,
+    last_booker_id  BIGINT,
+    last_start      TIMESTAMP WITHOUT TIME ZONE,
+    bookings_count  BIGINT NOT NULL DEFAULT 0,
+    valid_until     TIMESTAMP WITHOUT TIME ZONE
+);
+
+-- Поиск устаревших сводок периодической задачей
+CREATE INDEX IF NOT EXISTS item_booking_summary_valid_until_idx
+    ON item_booking_summary (valid_until);
+
+-- Сводки существующих вещей создаются устаревшими, их заполнит периодическая задача
+INSERT INTO item_booking_summary (item_id, bookings_count, valid_until)
+SELECT item_id, 0, TIMESTAMP '1970-01-01 00:00:00'
+FROM items;
@@ -1,13 +1,3 @@
-DROP TABLE IF EXISTS bookings;
-
-DROP TABLE IF EXISTS requests;
-
-DROP TABLE IF EXISTS comments;
-
-DROP TABLE IF EXISTS users;
-
-DROP TABLE IF EXISTS items;
-
 CREATE TABLE IF NOT EXISTS users
 (
     user_id   BIGINT GENERATED BY DEFAULT AS IDENTITY
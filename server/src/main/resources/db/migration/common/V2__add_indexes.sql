@@ -0,0 +1,26 @@
+-- Бронирования пользователя: WHERE booker_id = ? ORDER BY start_date DESC
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx
+    ON bookings (booker_id, start_date DESC);
+
+-- Ближайшие бронирования вещи и бронирования вещей собственника
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx
+    ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS bookings_item_end_idx
+    ON bookings (item_id, end_date);
+
+-- Вещи собственника: WHERE owner_id = ? ORDER BY item_id
+CREATE INDEX IF NOT EXISTS items_owner_idx
+    ON items (owner_id, item_id);
+
+-- Вещи, добавленные в ответ на запрос
+CREATE INDEX IF NOT EXISTS items_request_idx
+    ON items (request_id);
+
+-- Комментарии к вещи
+CREATE INDEX IF NOT EXISTS comments_item_idx
+    ON comments (item_id);
+
+-- Запросы пользователя: WHERE requestor_id = ? ORDER BY created_date_time DESC
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx
+    ON requests (requestor_id, created_date_time DESC);
@@ -0,0 +1,3 @@
+-- Версии для оптимистической блокировки бронирований и вещей
+ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Id предметов выдает последовательность (pooled, по 50), чтобы вставки шли пакетами
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
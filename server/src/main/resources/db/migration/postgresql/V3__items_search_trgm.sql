@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx
+    ON items USING gin (upper(item_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx
+    ON items USING gin (upper(description) gin_trgm_ops);
@@ -0,0 +1,75 @@
+-- Действующие бронирования одной вещи не должны пересекаться по времени.
+-- Ограничению нужен btree_gist (равенство item_id в gist-индексе). Расширение входит в contrib PostgreSQL;
+-- с 13-й версии оно доверенное и создается владельцем БД, в более ранних версиях - только суперпользователем,
+-- тогда его заранее создает администратор: CREATE EXTENSION btree_gist;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Бронирования, отклоненные миграцией из-за пересечений, накопленных до ограничения: исходный статус
+-- и бронирование, которое осталось действующим. По таблице можно связаться с арендаторами или вернуть статус.
+CREATE TABLE IF NOT EXISTS bookings_overlap_rejected
+(
+    booking_id      BIGINT                      NOT NULL
+        CONSTRAINT bookings_overlap_rejected_pk
+            PRIMARY KEY,
+    item_id         BIGINT                      NOT NULL,
+    booker_id       BIGINT                      NOT NULL,
+    start_date      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date        TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    previous_status VARCHAR                     NOT NULL,
+    kept_booking_id BIGINT                      NOT NULL,
+    rejected_at     TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Из пересекающихся действующих бронирований остается подтвержденное (APPROVED) раньше ожидающего (WAITING),
+-- при одинаковом статусе - более раннее (меньший booking_id); остальные копируются в bookings_overlap_rejected
+-- и отклоняются. Кандидаты проверяются в порядке этого приоритета, поэтому бронирование отклоняется, только
+-- если пересекается с бронированием, которое само остается действующим.
+DO
+$$
+    DECLARE
+        candidate RECORD;
+        kept      BIGINT;
+    BEGIN
+        FOR candidate IN
+            SELECT b.booking_id, b.item_id, b.booker_id, b.start_date, b.end_date, b.status
+            FROM bookings b
+            WHERE b.status IN ('WAITING', 'APPROVED')
+              AND EXISTS(SELECT 1
+                         FROM bookings e
+                         WHERE e.item_id = b.item_id
+                           AND e.booking_id <> b.booking_id
+                           AND e.status IN ('WAITING', 'APPROVED')
+                           AND e.start_date < b.end_date
+                           AND b.start_date < e.end_date)
+            ORDER BY b.status = 'APPROVED' DESC, b.booking_id
+            LOOP
+                SELECT e.booking_id
+                INTO kept
+                FROM bookings e
+                WHERE e.item_id = candidate.item_id
+                  AND e.booking_id <> candidate.booking_id
+                  AND e.status IN ('WAITING', 'APPROVED')
+                  AND e.start_date < candidate.end_date
+                  AND candidate.start_date < e.end_date
+                  AND (e.status = 'APPROVED' AND candidate.status = 'WAITING'
+                    OR e.status = candidate.status AND e.booking_id < candidate.booking_id)
+                ORDER BY e.status = 'APPROVED' DESC, e.booking_id
+                LIMIT 1;
+
+                IF kept IS NOT NULL THEN
+                    INSERT INTO bookings_overlap_rejected (booking_id, item_id, booker_id, start_date, end_date,
+                                                           previous_status, kept_booking_id)
+                    VALUES (candidate.booking_id, candidate.item_id, candidate.booker_id, candidate.start_date,
+                            candidate.end_date, candidate.status, kept);
+                    UPDATE bookings SET status = 'REJECTED' WHERE booking_id = candidate.booking_id;
+                    RAISE NOTICE 'Бронирование % (вещь %, статус %) пересекается с бронированием % и отклонено.',
+                        candidate.booking_id, candidate.item_id, candidate.status, kept;
+                END IF;
+            END LOOP;
+    END
+$$;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_no_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (status IN ('WAITING', 'APPROVED'));
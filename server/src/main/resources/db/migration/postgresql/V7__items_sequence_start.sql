@@ -0,0 +1,3 @@
+-- Оптимизатор pooled считает значение последовательности верхней границей блока id,
+-- поэтому следующий блок должен начинаться после уже занятых id
+SELECT setval('items_seq', (SELECT COALESCE(MAX(item_id), 0) FROM items) + 50, false);
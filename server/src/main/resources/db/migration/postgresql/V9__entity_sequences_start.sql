@@ -0,0 +1,5 @@
+-- Как и для items_seq: следующий блок id начинается после уже занятых
+SELECT setval('users_seq', (SELECT COALESCE(MAX(user_id), 0) FROM users) + 50, false);
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(request_id), 0) FROM requests) + 50, false);
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(booking_id), 0) FROM bookings) + 50, false);
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(comment_id), 0) FROM comments) + 50, false);
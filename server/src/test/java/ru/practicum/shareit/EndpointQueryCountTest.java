@@ -0,0 +1,123 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.sql.SqlStatsHeaderAdvice.ROWS_HEADER;
+import static ru.practicum.shareit.util.sql.SqlStatsHeaderAdvice.STATEMENTS_HEADER;
+import static ru.practicum.shareit.util.sql.SqlStatsMatchers.maxStatements;
+
+/**
+ * Число SQL-запросов на списочные эндпоинты не зависит от размера страницы: по ITEMS записей на страницу,
+ * допустимый предел меньше ITEMS, поэтому запрос на каждую запись (N+1) тест не пройдет.
+ * Заголовки X-Sql-* включены в профиле test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+    private static final int ITEMS = 10;
+    private static final int MAX_STATEMENTS = 8;
+
+    @Autowired
+    MockMvc mvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    ItemRequestRepository requestRepository;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    User owner;
+    User requestor;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = userRepository.save(new User(null, "Owner", "owner@query.count"));
+        requestor = userRepository.save(new User(null, "Requestor", "requestor@query.count"));
+        User booker = userRepository.save(new User(null, "Booker", "booker@query.count"));
+        for (int i = 0; i < ITEMS; i++) {
+            ItemRequest request = requestRepository.save(
+                    new ItemRequest(null, "request " + i, requestor, now.minusDays(i)));
+            Item item = itemRepository.save(new Item(null, "item " + i, "description", true, owner, request, null));
+            bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker,
+                    BookingStatus.APPROVED, null));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                    BookingStatus.WAITING, null));
+            commentRepository.save(new Comment(null, "comment " + i, item, booker, now));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM item_booking_summary");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void getAllItems() throws Exception {
+        mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", String.valueOf(ITEMS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ITEMS)))
+                .andExpect(header().exists(ROWS_HEADER))
+                .andExpect(maxStatements(MAX_STATEMENTS));
+    }
+
+    @Test
+    void getAllRequests() throws Exception {
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", String.valueOf(ITEMS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ITEMS)))
+                .andExpect(jsonPath("$[0].items", hasSize(1)))
+                .andExpect(maxStatements(MAX_STATEMENTS));
+    }
+
+    @Test
+    void errorResponseHasHeaders() throws Exception {
+        mvc.perform(get("/items/{itemId}", -1L)
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isNotFound())
+                .andExpect(header().exists(STATEMENTS_HEADER))
+                .andExpect(maxStatements(MAX_STATEMENTS));
+    }
+}
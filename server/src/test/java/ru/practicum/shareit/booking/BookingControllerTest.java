@@ -5,6 +5,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -12,6 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
@@ -19,6 +21,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.TimeAdapterGsonBuilder;
@@ -27,10 +30,13 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
@@ -183,4 +189,78 @@ class BookingControllerTest {
         verify(service, times(1))
                 .getAllOwnerItemsBooking(any(BookingState.class), anyLong(), any(PageRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllUserBookingsWithCursor() throws Exception {
+        BookingCursor cursor = BookingCursor.of(bookingDto);
+        when(service.getAllUserBookings(any(BookingState.class), anyLong(), eq(cursor), eq(1)))
+                .thenReturn(bookingDtoList);
+        when(service.getAllOwnerItemsBooking(any(BookingState.class), anyLong(), eq(cursor), eq(1)))
+                .thenReturn(bookingDtoList);
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "ALL")
+                        .param("after", cursor.encode())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(BookingController.NEXT_CURSOR_HEADER, cursor.encode()))
+                .andExpect(content().json(gson.toJson(bookingDtoList)));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "ALL")
+                        .param("after", cursor.encode())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(gson.toJson(bookingDtoList)));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, times(1))
+                .getAllUserBookings(any(BookingState.class), anyLong(), eq(cursor), eq(1));
+        verify(service, times(1))
+                .getAllOwnerItemsBooking(any(BookingState.class), anyLong(), eq(cursor), eq(1));
+    }
+
+    @Test
+    void exportAllUserItemsBooking() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingDto> action = invocation.getArgument(4);
+            bookingDtoList.forEach(action);
+            action.accept(bookingDto);
+            return null;
+        }).when(service).exportAllOwnerItemsBooking(eq(BookingState.WAITING), eq(1L),
+                eq(LocalDateTime.of(2022, 10, 1, 0, 0)), isNull(), any());
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "WAITING")
+                        .param("from", "2022-10-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(result -> {
+                    String[] lines = result.getResponse().getContentAsString().split("\n");
+                    assertEquals(2, lines.length);
+                    for (String line : lines) {
+                        JSONAssert.assertEquals(gson.toJson(bookingDto), line, false);
+                    }
+                });
+
+        doThrow(new UserNotFoundException("Пользователь с id = 2 не найден."))
+                .when(service).exportAllOwnerItemsBooking(any(), eq(2L), any(), any(), any());
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", "2"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", "1")
+                        .param("state", "WRONG_STATE"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,191 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingItemStats;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.booking.model.BookingState.*;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingRepositoryTest {
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    User owner;
+    User booker;
+    Item item;
+    LocalDateTime now;
+
+    Booking past;
+    Booking current;
+    Booking future;
+    Booking futureSameStart;
+
+    @BeforeEach
+    void setUp() {
+        // В БД время хранится с точностью до микросекунд, наносекунды дали бы ложные пересечения на стыках
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        owner = userRepository.save(new User(null, "Owner", "owner@mail.com"));
+        booker = userRepository.save(new User(null, "Booker", "booker@mail.com"));
+        item = itemRepository.save(new Item(null, "Дрель", "Простая дрель", true, owner, null, null));
+
+        past = save(now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        current = save(now.minusDays(1), now.plusDays(1), BookingStatus.WAITING);
+        future = save(now.plusDays(2), now.plusDays(3), BookingStatus.REJECTED);
+        futureSameStart = save(future.getStart(), now.plusDays(4), BookingStatus.WAITING);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findAllByStateKeyset() {
+        List<Long> firstPage = ids(BookingRole.BOOKER, booker.getId(), ALL, null, 0, 2);
+
+        assertEquals(List.of(futureSameStart.getId(), future.getId()), firstPage);
+
+        BookingCursor cursor = new BookingCursor(future.getStart(), future.getId());
+        List<Long> secondPage = ids(BookingRole.BOOKER, booker.getId(), ALL, cursor, 0, 2);
+
+        assertEquals(List.of(current.getId(), past.getId()), secondPage);
+
+        cursor = new BookingCursor(past.getStart(), past.getId());
+        assertTrue(ids(BookingRole.BOOKER, booker.getId(), ALL, cursor, 0, 2).isEmpty());
+    }
+
+    @Test
+    void findAllByStateOffset() {
+        assertEquals(List.of(current.getId(), past.getId()),
+                ids(BookingRole.BOOKER, booker.getId(), ALL, null, 2, 10));
+    }
+
+    @Test
+    void findAllByStateStates() {
+        assertEquals(List.of(past.getId()),
+                ids(BookingRole.OWNER, owner.getId(), PAST, null, 0, 10));
+        assertEquals(List.of(current.getId()),
+                ids(BookingRole.OWNER, owner.getId(), CURRENT, null, 0, 10));
+        assertEquals(List.of(futureSameStart.getId(), future.getId()),
+                ids(BookingRole.OWNER, owner.getId(), FUTURE, null, 0, 10));
+        assertEquals(List.of(futureSameStart.getId(), current.getId()),
+                ids(BookingRole.OWNER, owner.getId(), WAITING, null, 0, 10));
+        assertEquals(List.of(future.getId()),
+                ids(BookingRole.OWNER, owner.getId(), REJECTED, null, 0, 10));
+        assertTrue(ids(BookingRole.OWNER, booker.getId(), ALL, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void findAllByStateProjection() {
+        BookingView view = bookingRepository
+                .findAllByState(BookingRole.BOOKER, booker.getId(), PAST, now, null, 0, 10).get(0);
+
+        assertEquals(past.getId(), view.getId());
+        assertEquals(past.getStart(), view.getStart());
+        assertEquals(past.getEnd(), view.getEnd());
+        assertEquals(BookingStatus.APPROVED, view.getStatus());
+        assertEquals(item.getId(), view.getItemId());
+        assertEquals(item.getName(), view.getItemName());
+        assertEquals(booker.getId(), view.getBookerId());
+    }
+
+    @Test
+    void streamAllByState() {
+        List<Booking> bookings;
+        try (Stream<Booking> stream = bookingRepository
+                .streamAllByState(BookingRole.OWNER, owner.getId(), ALL, now, null, null)) {
+            bookings = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(futureSameStart.getId(), future.getId(), current.getId(), past.getId()),
+                bookings.stream().map(Booking::getId).collect(Collectors.toList()));
+        assertEquals(item.getName(), bookings.get(0).getItem().getName());
+        assertEquals(booker.getId(), bookings.get(0).getBooker().getId());
+        assertFalse(entityManager.getEntityManager().contains(bookings.get(0)));
+
+        // Окно по дате начала: [from, to)
+        try (Stream<Booking> stream = bookingRepository.streamAllByState(BookingRole.OWNER, owner.getId(), ALL,
+                now, current.getStart(), future.getStart())) {
+            assertEquals(List.of(current.getId()), stream.map(Booking::getId).collect(Collectors.toList()));
+        }
+        try (Stream<Booking> stream = bookingRepository
+                .streamAllByState(BookingRole.OWNER, owner.getId(), WAITING, now, null, null)) {
+            assertEquals(List.of(futureSameStart.getId(), current.getId()),
+                    stream.map(Booking::getId).collect(Collectors.toList()));
+        }
+        try (Stream<Booking> stream = bookingRepository
+                .streamAllByState(BookingRole.OWNER, booker.getId(), ALL, now, null, null)) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    void findItemStats() {
+        List<BookingItemStats> stats = bookingRepository.findItemStats(List.of(item.getId(), -1L), now);
+
+        assertEquals(1, stats.size());
+        assertEquals(item.getId(), stats.get(0).getItemId());
+        assertEquals(4L, stats.get(0).getTotal());
+        // Ближайшее окончание после now - у текущего бронирования
+        assertEquals(current.getEnd(), stats.get(0).getNearestEnd());
+
+        assertNull(bookingRepository.findItemStats(List.of(item.getId()), now.plusDays(5)).get(0).getNearestEnd());
+    }
+
+    @Test
+    void existsOverlapping() {
+        assertTrue(bookingRepository.existsOverlapping(item.getId(), now.plusHours(12), now.plusHours(13)));
+        assertTrue(bookingRepository.existsOverlapping(item.getId(), now.plusDays(3), now.plusDays(5)));
+        // Интервалы полуоткрытые: стык с соседними бронированиями не пересечение
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), current.getEnd(), futureSameStart.getStart()));
+        // Отклоненное бронирование интервал не занимает
+        futureSameStart.setStatus(BookingStatus.CANCELED);
+        bookingRepository.save(futureSameStart);
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), now.plusDays(2), now.plusDays(3)));
+        assertFalse(bookingRepository.existsOverlapping(-1L, now.minusDays(10), now.plusDays(10)));
+    }
+
+    private List<Long> ids(BookingRole role, Long userId, BookingState state,
+                           BookingCursor after, long offset, int size) {
+        return bookingRepository.findAllByState(role, userId, state, now, after, offset, size).stream()
+                .map(BookingView::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Booking save(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return bookingRepository.save(new Booking(null, start, end, item, booker, status, null));
+    }
+}
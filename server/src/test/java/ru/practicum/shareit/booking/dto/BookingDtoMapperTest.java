@@ -5,11 +5,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.json.JsonTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.json.JsonContent;
+import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @JsonTest
 class BookingDtoMapperTest {
@@ -51,4 +53,24 @@ class BookingDtoMapperTest {
 
         assertThat(result).extractingJsonPathNumberValue("$.itemId").isEqualTo(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void bookingViewToDtoTest() {
+        BookingView view = new BookingView(1L,
+                LocalDateTime.of(2022, 10, 15, 17, 45),
+                LocalDateTime.of(2022, 11, 20, 15, 00),
+                BookingStatus.APPROVED,
+                2L,
+                "name",
+                3L);
+
+        BookingDto dto = new BookingDtoMapper().toBookingDto(view);
+
+        assertThat(dto.getId()).isEqualTo(1L);
+        assertThat(dto.getStart()).isEqualTo(view.getStart());
+        assertThat(dto.getEnd()).isEqualTo(view.getEnd());
+        assertThat(dto.getStatus()).isEqualTo("APPROVED");
+        assertEquals(dto.createItem(2L, "name"), dto.getItem());
+        assertEquals(dto.createBooker(3L), dto.getBooker());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookingConcurrencyControlTest {
+
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void optimisticRetriesVersionConflict() {
+        BookingConcurrencyControl control = control(BookingConcurrencyControl.Mode.OPTIMISTIC, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = control.execute(1L, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Item.class, 1L);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void optimisticGivesUpAfterMaxAttempts() {
+        BookingConcurrencyControl control = control(BookingConcurrencyControl.Mode.OPTIMISTIC, 2);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> control.execute(1L, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Item.class, 1L);
+        }));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void otherExceptionsAreNotRetried() {
+        BookingConcurrencyControl control = control(BookingConcurrencyControl.Mode.OPTIMISTIC, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(DataIntegrityViolationException.class, () -> control.execute(1L, () -> {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("bookings_no_overlap");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void stripedSerializesSameKey() throws Exception {
+        BookingConcurrencyControl control = control(BookingConcurrencyControl.Mode.STRIPED, 1);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> control.execute(7L, () -> {
+                    maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    return inside.decrementAndGet();
+                })));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(0, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void wrongSettings() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new BookingConcurrencyControl(transactionManager, BookingConcurrencyControl.Mode.OPTIMISTIC, 0, 1));
+        assertThrows(IllegalArgumentException.class, () ->
+                new BookingConcurrencyControl(transactionManager, BookingConcurrencyControl.Mode.STRIPED, 1, 0));
+    }
+
+    private BookingConcurrencyControl control(BookingConcurrencyControl.Mode mode, int maxAttempts) {
+        return new BookingConcurrencyControl(transactionManager, mode, maxAttempts, 16);
+    }
+}
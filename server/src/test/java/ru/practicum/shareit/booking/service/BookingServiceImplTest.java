@@ -5,16 +5,22 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoInput;
 import ru.practicum.shareit.booking.dto.BookingDtoMapper;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingRole;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.*;
@@ -24,11 +30,14 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,6 +55,8 @@ class BookingServiceImplTest {
     ItemRepository itemRepository;
     @Mock
     UserRepository userRepository;
+    @Mock
+    ItemBookingSummaryService summaryService;
 
     static BookingDtoMapper mapper;
 
@@ -56,6 +67,7 @@ class BookingServiceImplTest {
 
     List<Booking> bookingList;
     List<BookingDto> bookingDtoList;
+    List<BookingView> bookingViewList;
 
     Item item1;
     Item item2;
@@ -72,7 +84,10 @@ class BookingServiceImplTest {
         service = new BookingServiceImpl(bookingRepository,
                 itemRepository,
                 userRepository,
-                mapper);
+                mapper,
+                new BookingConcurrencyControl(mock(PlatformTransactionManager.class),
+                        BookingConcurrencyControl.Mode.OPTIMISTIC, 3, 16),
+                summaryService);
 
         user1 = User.builder()
                 .id(1L)
@@ -143,6 +158,9 @@ class BookingServiceImplTest {
 
         bookingList = new ArrayList<>(Collections.singleton(booking));
         bookingDtoList = new ArrayList<>(Collections.singleton(bookingDto));
+        bookingViewList = List.of(new BookingView(booking.getId(), booking.getStart(), booking.getEnd(),
+                booking.getStatus(), booking.getItem().getId(), booking.getItem().getName(),
+                booking.getBooker().getId()));
     }
 
     @AfterEach
@@ -165,10 +183,9 @@ class BookingServiceImplTest {
         // Для проверки исключения
         when(userRepository.findById(-1L))
                 .thenReturn(Optional.empty());
-        when(bookingRepository.findAllByItemOwnerCurrent(eq(1L),
-                any(LocalDateTime.class), any(LocalDateTime.class), eq(null)))
-                .thenReturn(new ArrayList<>());
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.existsOverlapping(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking);
 
         BookingDto result = service.addBooking(bookingDtoInput, 1L);
@@ -198,9 +215,8 @@ class BookingServiceImplTest {
                 service.addBooking(bookingDtoInput, null));
 
         // cast ItemNotAvailableForBookingException
-        when(bookingRepository.findAllByItemOwnerCurrent(eq(2L),
-                any(LocalDateTime.class), any(LocalDateTime.class), eq(null)))
-                .thenReturn(bookingList);
+        when(bookingRepository.existsOverlapping(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
 
         assertThrows(ItemNotAvailableForBookingException.class, () ->
                 service.addBooking(bookingDtoInput, 1L));
@@ -212,24 +228,63 @@ class BookingServiceImplTest {
                 service.addBooking(bookingDtoInput, -2L));
 
         verify(bookingRepository, times(1))
-                .save(any(Booking.class));
-        verify(bookingRepository, times(3))
-                .findAllByItemOwnerCurrent(anyLong(),
-                        any(LocalDateTime.class), any(LocalDateTime.class), eq(null));
+                .saveAndFlush(any(Booking.class));
+        verify(summaryService, times(1))
+                .refreshAll(eq(List.of(item1.getId())), any(LocalDateTime.class));
+        verify(bookingRepository, times(2))
+                .existsOverlapping(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
         verify(itemRepository, times(4))
                 .findById(anyLong());
-        verify(userRepository, times(10))
+        verify(userRepository, times(6))
                 .findById(anyLong());
     }
 
+    @Test
+    void addBookingOverlapRejectedByDatabase() {
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(item1));
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(user1));
+        when(bookingRepository.existsOverlapping(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("conflicting key value violates exclusion constraint", "23P01"),
+                                null)));
+
+        assertThrows(ItemNotAvailableForBookingException.class, () ->
+                service.addBooking(bookingDtoInput, 1L));
+    }
+
+    @Test
+    void addBookingOtherIntegrityViolationRethrown() {
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(item1));
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(user1));
+        when(bookingRepository.existsOverlapping(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("insert or update violates foreign key constraint", "23503"),
+                                "bookings_item_id_fkey")));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                service.addBooking(bookingDtoInput, 1L));
+    }
+
     @Test
     void bookingApprove() {
+        when(bookingRepository.findItemIdById(eq(1L)))
+                .thenReturn(Optional.of(booking.getItem().getId()));
         when(bookingRepository.findById(eq(1L)))
                 .thenReturn(Optional.ofNullable(booking));
         // Для проверки исключения
-        when(bookingRepository.findById(eq(-1L)))
+        when(bookingRepository.findItemIdById(eq(-1L)))
                 .thenReturn(Optional.empty());
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking2);
 
         BookingDto result = service.bookingApprove(1L, true, 2L);
@@ -255,9 +310,25 @@ class BookingServiceImplTest {
                 service.bookingApprove(1L, true, 2L));
 
         verify(bookingRepository, times(1))
-                .save(any(Booking.class));
-        verify(bookingRepository, times(4))
+                .saveAndFlush(any(Booking.class));
+        verify(bookingRepository, times(3))
                 .findById(anyLong());
+        verify(bookingRepository, times(4))
+                .findItemIdById(anyLong());
+    }
+
+    @Test
+    void bookingApproveOrderedByItem() {
+        BookingConcurrencyControl concurrency = mock(BookingConcurrencyControl.class);
+        BookingService striped = new BookingServiceImpl(bookingRepository, itemRepository, userRepository, mapper,
+                concurrency, summaryService);
+        when(bookingRepository.findItemIdById(5L))
+                .thenReturn(Optional.of(2L));
+
+        striped.bookingApprove(5L, true, 1L);
+
+        // Блокировка берется по вещи бронирования, как при создании бронирований этой вещи
+        verify(concurrency, times(1)).execute(eq(2L), any());
     }
 
     @Test
@@ -287,67 +358,24 @@ class BookingServiceImplTest {
 
     @Test
     void getAllUserBookings() {
-        PageRequest page = PageRequest.ofSize(10);
+        PageRequest page = PageRequest.of(2, 10);
         when(userRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(user1));
 
-        // ALL
-        when(bookingRepository.findAllByBooker(eq(1L), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        List<BookingDto> result = service.getAllUserBookings(ALL, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // PAST
-        when(bookingRepository.findAllByBookerInPast(eq(1L), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllUserBookings(PAST, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // FUTURE
-        when(bookingRepository.findAllByBookerInFuture(eq(1L), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllUserBookings(FUTURE, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // CURRENT
-        when(bookingRepository.findAllByBookerCurrent(eq(1L),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllUserBookings(CURRENT, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // WAITING
-        when(bookingRepository.findAllByBookerAndStatus(eq(1L),
-                eq(BookingStatus.WAITING), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllUserBookings(WAITING, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // REJECTED
-        when(bookingRepository.findAllByBookerAndStatus(eq(1L),
-                eq(BookingStatus.REJECTED), any(PageRequest.class)))
-                .thenReturn(bookingList);
+        for (BookingState state : BookingState.values()) {
+            when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), eq(1L), eq(state),
+                    any(LocalDateTime.class), isNull(), eq(20L), eq(10)))
+                    .thenReturn(bookingViewList);
 
-        result = service.getAllUserBookings(REJECTED, 1L, page);
+            List<BookingDto> result = service.getAllUserBookings(state, 1L, page);
 
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
+            assertNotNull(result);
+            assertEquals(bookingDtoList, result);
+        }
 
+        verify(bookingRepository, times(BookingState.values().length))
+                .findAllByState(eq(BookingRole.BOOKER), eq(1L), any(BookingState.class),
+                        any(LocalDateTime.class), isNull(), eq(20L), eq(10));
     }
 
     @Test
@@ -356,62 +384,16 @@ class BookingServiceImplTest {
         when(userRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(user1));
 
-        // ALL
-        when(bookingRepository.findAllByItemOwner(eq(1L), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        List<BookingDto> result = service.getAllOwnerItemsBooking(ALL, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // PAST
-        when(bookingRepository.findAllByItemOwnerInPast(eq(1L), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllOwnerItemsBooking(PAST, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // FUTURE
-        when(bookingRepository.findAllByItemOwnerInFuture(eq(1L), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllOwnerItemsBooking(FUTURE, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // CURRENT
-        when(bookingRepository.findAllByItemOwnerCurrent(eq(1L),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllOwnerItemsBooking(CURRENT, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // WAITING
-        when(bookingRepository.findAllByItemOwnerAndStatus(eq(1L),
-                eq(BookingStatus.WAITING), any(PageRequest.class)))
-                .thenReturn(bookingList);
+        for (BookingState state : BookingState.values()) {
+            when(bookingRepository.findAllByState(eq(BookingRole.OWNER), eq(1L), eq(state),
+                    any(LocalDateTime.class), isNull(), eq(0L), eq(10)))
+                    .thenReturn(bookingViewList);
 
-        result = service.getAllOwnerItemsBooking(WAITING, 1L, page);
+            List<BookingDto> result = service.getAllOwnerItemsBooking(state, 1L, page);
 
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
-
-        // REJECTED
-        when(bookingRepository.findAllByItemOwnerAndStatus(eq(1L),
-                eq(BookingStatus.REJECTED), any(PageRequest.class)))
-                .thenReturn(bookingList);
-
-        result = service.getAllOwnerItemsBooking(REJECTED, 1L, page);
-
-        assertNotNull(result);
-        assertEquals(bookingDtoList, result);
+            assertNotNull(result);
+            assertEquals(bookingDtoList, result);
+        }
 
         // cast IllegalArgumentException
         assertThrows(IllegalArgumentException.class, () ->
@@ -420,7 +402,8 @@ class BookingServiceImplTest {
         // cast WrongStateException
         when(userRepository.findById(-2L))
                 .thenReturn(Optional.ofNullable(user1));
-        when(bookingRepository.findAllByItemOwner(eq(-2L), any(PageRequest.class)))
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), eq(-2L), any(BookingState.class),
+                any(LocalDateTime.class), isNull(), anyLong(), anyInt()))
                 .thenThrow(new WrongStateException(String
                         .format("Состояние бронирования %s недопустимо.", "WRONG_STATE")));
 
@@ -431,4 +414,45 @@ class BookingServiceImplTest {
         assertThrows(UserNotFoundException.class, () ->
                 service.getAllOwnerItemsBooking(ALL, null, page));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookingsAfterCursor() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2022, 10, 20, 10, 0), 5L);
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(user1));
+        when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), eq(1L), eq(PAST),
+                any(LocalDateTime.class), eq(cursor), eq(0L), eq(10)))
+                .thenReturn(bookingViewList);
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), eq(1L), eq(FUTURE),
+                any(LocalDateTime.class), eq(cursor), eq(0L), eq(10)))
+                .thenReturn(bookingViewList);
+
+        assertEquals(bookingDtoList, service.getAllUserBookings(PAST, 1L, cursor, 10));
+        assertEquals(bookingDtoList, service.getAllOwnerItemsBooking(FUTURE, 1L, cursor, 10));
+
+        assertThrows(UserNotFoundException.class, () ->
+                service.getAllUserBookings(ALL, null, cursor, 10));
+    }
+
+    @Test
+    void exportAllOwnerItemsBooking() {
+        LocalDateTime from = LocalDateTime.of(2022, 10, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 11, 1, 0, 0);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.findById(2L))
+                .thenReturn(Optional.ofNullable(user2));
+        when(bookingRepository.streamAllByState(eq(BookingRole.OWNER), eq(2L), eq(ALL),
+                any(LocalDateTime.class), eq(from), eq(to)))
+                .thenReturn(Stream.of(booking).onClose(() -> closed.set(true)));
+
+        List<BookingDto> result = new ArrayList<>();
+        service.exportAllOwnerItemsBooking(ALL, 2L, from, to, result::add);
+
+        assertEquals(List.of(mapper.toBookingDto(booking)), result);
+        assertTrue(closed.get());
+
+        assertThrows(UserNotFoundException.class, () ->
+                service.exportAllOwnerItemsBooking(ALL, null, from, to, result::add));
+        verify(bookingRepository, times(1)).streamAllByState(any(), any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dao.ItemBookingSummaryRepository;
+import ru.practicum.shareit.booking.dto.BookingItemStats;
+import ru.practicum.shareit.booking.dto.BookingShort;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+class ItemBookingSummaryServiceImplTest {
+    ItemBookingSummaryService service;
+    @Mock
+    ItemBookingSummaryRepository summaryRepository;
+    @Mock
+    BookingRepository bookingRepository;
+    @Captor
+    ArgumentCaptor<Collection<ItemBookingSummary>> summariesCaptor;
+
+    LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        service = new ItemBookingSummaryServiceImpl(summaryRepository, bookingRepository);
+        now = LocalDateTime.of(2022, 10, 20, 12, 0);
+    }
+
+    @Test
+    void refreshAll() {
+        ItemBookingSummary stored = new ItemBookingSummary(1L);
+        stored.setLastBookingId(99L);
+        stored.setValidUntil(now.minusDays(1));
+        List<BookingShort> nearest = List.of(
+                booking(5L, 1L, 7L, now.minusDays(3)),
+                booking(6L, 1L, 8L, now.plusDays(2)),
+                booking(9L, 1L, 7L, now.plusDays(2)));
+        List<BookingItemStats> itemStats = List.of(stats(1L, 4L, now.plusDays(1)));
+        when(summaryRepository.findAllLockedByItemIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(stored));
+        when(bookingRepository.findNearestBookingsForItems(List.of(1L, 2L), now))
+                .thenReturn(nearest);
+        when(bookingRepository.findItemStats(List.of(1L, 2L), now))
+                .thenReturn(itemStats);
+
+        service.refreshAll(List.of(1L, 2L), now);
+
+        assertEquals(6L, stored.getNextBookingId());
+        assertEquals(8L, stored.getNextBookerId());
+        assertEquals(5L, stored.getLastBookingId());
+        assertEquals(7L, stored.getLastBookerId());
+        assertEquals(4L, stored.getBookingsCount());
+        // Текущее бронирование закончится раньше, чем начнется следующее
+        assertEquals(now.plusDays(1), stored.getValidUntil());
+        assertTrue(stored.isFreshAt(now));
+        assertFalse(stored.isFreshAt(now.plusDays(1)));
+
+        verify(summaryRepository, times(1)).saveAll(summariesCaptor.capture());
+        assertEquals(2, summariesCaptor.getValue().size());
+        ItemBookingSummary created = summariesCaptor.getValue().stream()
+                .filter(summary -> summary.getItemId() == 2L)
+                .findAny()
+                .orElseThrow();
+        assertTrue(created.isNew());
+        assertNull(created.getNextBooking());
+        assertNull(created.getLastBooking());
+        assertEquals(0, created.getBookingsCount());
+        assertNull(created.getValidUntil());
+    }
+
+    @Test
+    void findFresh() {
+        ItemBookingSummary fresh = new ItemBookingSummary(1L);
+        ItemBookingSummary stale = new ItemBookingSummary(2L);
+        stale.setValidUntil(now);
+        when(summaryRepository.findAllById(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(fresh, stale));
+
+        Map<Long, ItemBookingSummary> result = service.findFresh(List.of(1L, 2L, 3L), now);
+
+        assertEquals(Map.of(1L, fresh), result);
+    }
+
+    @Test
+    void refreshStale() {
+        when(summaryRepository.findAllStaleItemIds(eq(now), any(Pageable.class)))
+                .thenReturn(List.of(3L));
+        when(summaryRepository.findAllLockedByItemIdIn(List.of(3L)))
+                .thenReturn(List.of(new ItemBookingSummary(3L)));
+
+        assertEquals(1, service.refreshStale(now, 10));
+
+        verify(bookingRepository, times(1)).findNearestBookingsForItems(List.of(3L), now);
+        verify(bookingRepository, times(1)).findItemStats(List.of(3L), now);
+    }
+
+    @Test
+    void refreshAllEmpty() {
+        service.refreshAll(List.of(), now);
+
+        verify(summaryRepository, never()).findAllLockedByItemIdIn(anyCollection());
+        verify(bookingRepository, never()).findNearestBookingsForItems(anyCollection(), any());
+    }
+
+    private static BookingShort booking(Long id, Long itemId, Long bookerId, LocalDateTime start) {
+        BookingShort booking = mock(BookingShort.class);
+        when(booking.getId()).thenReturn(id);
+        when(booking.getItemId()).thenReturn(itemId);
+        when(booking.getBookerId()).thenReturn(bookerId);
+        when(booking.getStart()).thenReturn(start);
+        return booking;
+    }
+
+    private static BookingItemStats stats(Long itemId, Long total, LocalDateTime nearestEnd) {
+        BookingItemStats stats = mock(BookingItemStats.class);
+        when(stats.getItemId()).thenReturn(itemId);
+        when(stats.getTotal()).thenReturn(total);
+        when(stats.getNearestEnd()).thenReturn(nearestEnd);
+        return stats;
+    }
+}
@@ -13,10 +13,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoForOut;
 import ru.practicum.shareit.item.dto.ItemDtoMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemBulkService;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -40,6 +42,8 @@ class ItemControllerTest {
 
     @MockBean
     ItemService service;
+    @MockBean
+    ItemBulkService bulkService;
     @Autowired
     MockMvc mvc;
     static ItemDtoMapper mapper;
@@ -122,6 +126,53 @@ class ItemControllerTest {
     void tearDown() {
     }
 
+    @Test
+    void saveItems() throws Exception {
+        List<ItemBulkResult> results = List.of(ItemBulkResult.created(0, itemDto),
+                ItemBulkResult.failed(1, "Название не может быть пустым."));
+        when(bulkService.saveItems(anyList(), eq(1L)))
+                .thenReturn(results);
+
+        mvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(gson.toJson(itemDtos))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(gson.toJson(results)));
+
+        verify(bulkService, times(1))
+                .saveItems(eq(itemDtos), eq(1L));
+    }
+
+    @Test
+    void saveItemsNdjson() throws Exception {
+        List<ItemBulkResult> results = List.of(ItemBulkResult.created(0, itemDto));
+        when(bulkService.saveItems(anyList(), eq(1L)))
+                .thenReturn(results);
+        String ndjson = itemDtos.stream()
+                .map(gson::toJson)
+                .collect(Collectors.joining("\n"));
+
+        mvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(ndjson)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(gson.toJson(results)));
+
+        verify(bulkService, times(1))
+                .saveItems(eq(itemDtos), eq(1L));
+
+        mvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content("{\"name\": ")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void addNewItem() throws Exception {
         when(service.addItem(any(ItemDto.class), anyLong()))
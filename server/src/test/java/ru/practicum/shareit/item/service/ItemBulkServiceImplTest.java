@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemBulkResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.WARN)
+class ItemBulkServiceImplTest {
+    ItemBulkService service;
+    @Mock
+    ItemRepository itemRepository;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    ItemRequestRepository requestRepository;
+    @Mock
+    EntityManager entityManager;
+    @Mock
+    ItemBookingSummaryService summaryService;
+
+    User owner;
+    User other;
+    ItemRequest request;
+    Item stored;
+
+    @BeforeEach
+    void setUp() {
+        service = new ItemBulkServiceImpl(itemRepository,
+                userRepository,
+                requestRepository,
+                new ItemDtoMapper(),
+                new ItemSearchIndex(itemRepository, false),
+                summaryService,
+                entityManager);
+        owner = new User(1L, "user1", "user1@mail.ru");
+        other = new User(2L, "user2", "user2@mail.ru");
+        request = new ItemRequest(1L, "request", other, LocalDateTime.now());
+        stored = new Item(10L, "item", "description", true, owner, null, 0L);
+    }
+
+    @Test
+    void saveItems() {
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(owner));
+        when(requestRepository.findAllById(any()))
+                .thenReturn(List.of(request));
+        when(itemRepository.findAllById(any()))
+                .thenReturn(List.of(stored));
+        when(itemRepository.save(any()))
+                .thenAnswer(invocation -> {
+                    Item item = invocation.getArgument(0);
+                    item.setId(11L);
+                    return item;
+                });
+
+        List<ItemBulkResult> results = service.saveItems(List.of(
+                new ItemDto(null, "new", "new description", true, 1L),
+                new ItemDto(10L, "updated", null, false, null)), 1L);
+
+        assertEquals(2, results.size());
+        assertEquals(ItemBulkResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(11L, results.get(0).getItem().getId());
+        assertEquals(1L, results.get(0).getItem().getRequestId());
+        assertEquals(ItemBulkResult.Status.UPDATED, results.get(1).getStatus());
+        assertEquals("updated", stored.getName());
+        assertEquals("description", stored.getDescription());
+        assertFalse(stored.getAvailable());
+        verify(itemRepository, times(1)).save(any());
+        verify(summaryService, times(1)).createAll(List.of(11L));
+        verify(entityManager, times(1)).flush();
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    void saveItemsReportsFailedRows() {
+        Item foreign = new Item(12L, "foreign", "description", true, other, null, 0L);
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(owner));
+        when(requestRepository.findAllById(any()))
+                .thenReturn(List.of());
+        when(itemRepository.findAllById(any()))
+                .thenReturn(List.of(foreign));
+
+        List<ItemBulkResult> results = service.saveItems(List.of(
+                new ItemDto(null, " ", "description", true, null),
+                new ItemDto(null, "item", "description", true, 5L),
+                new ItemDto(12L, "item", null, null, null),
+                new ItemDto(13L, "item", null, null, null)), 1L);
+
+        assertEquals(4, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(ItemBulkResult.Status.FAILED, results.get(i).getStatus());
+            assertNull(results.get(i).getItem());
+        }
+        assertEquals("Название не может быть пустым.", results.get(0).getError());
+        assertEquals("Request с id 5 не найден.", results.get(1).getError());
+        assertEquals("Пользователь с id = 1 не является собственником предмета с id = 12.",
+                results.get(2).getError());
+        assertEquals("Предмет с id = 13 не найден.", results.get(3).getError());
+        assertEquals("foreign", foreign.getName());
+        verify(itemRepository, never()).save(any());
+    }
+
+    @Test
+    void saveItemsUnknownUser() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class,
+                () -> service.saveItems(List.of(new ItemDto(null, "item", "description", true, null)), 99L));
+        verify(itemRepository, never()).save(any());
+    }
+}
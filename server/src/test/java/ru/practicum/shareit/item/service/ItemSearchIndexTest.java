@@ -0,0 +1,163 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    ItemRepository itemRepository;
+    ItemSearchIndex index;
+    // Предметы в БД: индекс проверяет кандидатов по загруженным из репозитория предметам
+    Map<Long, Item> stored;
+
+    Item drill;
+    Item screwdriver;
+    Item hiddenDrill;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        index = new ItemSearchIndex(itemRepository, true);
+
+        drill = Item.builder().id(1L).name("Дрель").description("Простая дрель").available(true).build();
+        screwdriver = Item.builder().id(2L).name("Отвертка").description("Аккумуляторная отвертка")
+                .available(true).build();
+        hiddenDrill = Item.builder().id(3L).name("Дрель+").description("Недоступна").available(false).build();
+
+        stored = new ConcurrentHashMap<>(Map.of(1L, drill, 2L, screwdriver, 3L, hiddenDrill));
+        when(itemRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(drill, screwdriver, hiddenDrill)));
+        when(itemRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Item> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (stored.containsKey(id)) {
+                    found.add(stored.get(id));
+                }
+            });
+            return found;
+        });
+    }
+
+    List<Long> foundIds(ItemSearchIndex target, String text, PageRequest pageRequest) {
+        List<Item> found = target.search(text, pageRequest);
+        return found == null ? null : found.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void searchBeforeBuild() {
+        assertNull(foundIds(index, "дрель", PageRequest.ofSize(10)));
+    }
+
+    @Test
+    void searchDisabled() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+        disabled.build();
+
+        assertNull(foundIds(disabled, "дрель", PageRequest.ofSize(10)));
+    }
+
+    @Test
+    void search() {
+        index.build();
+
+        assertEquals(List.of(1L), foundIds(index, "дРеЛь", PageRequest.ofSize(10)));
+        assertEquals(List.of(2L), foundIds(index, "аккумулятор", PageRequest.ofSize(10)));
+        assertEquals(List.of(), foundIds(index, "пила", PageRequest.ofSize(10)));
+        assertNull(foundIds(index, "др", PageRequest.ofSize(10)));
+    }
+
+    @Test
+    void searchPaging() {
+        index.build();
+
+        assertEquals(List.of(1L, 2L), foundIds(index, "ая ", PageRequest.of(0, 10)));
+        assertEquals(List.of(1L), foundIds(index, "ая ", PageRequest.of(0, 1)));
+        assertEquals(List.of(2L), foundIds(index, "ая ", PageRequest.of(1, 1)));
+        assertEquals(List.of(), foundIds(index, "ая ", PageRequest.of(2, 1)));
+    }
+
+    @Test
+    void searchPagingAcrossCandidateBatches() {
+        List<Item> saws = LongStream.rangeClosed(10, 260)
+                .mapToObj(id -> Item.builder().id(id).name("Пила " + id).description("Ручная").available(true).build())
+                .collect(Collectors.toList());
+        saws.forEach(saw -> stored.put(saw.getId(), saw));
+        when(itemRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(saws));
+        index.build();
+        // Половина кандидатов удалена после построения и отсеивается проверкой
+        LongStream.rangeClosed(10, 260).filter(id -> id % 2 == 0).forEach(stored::remove);
+
+        assertEquals(List.of(221L, 223L, 225L), foundIds(index, "пила", PageRequest.of(35, 3)));
+        assertEquals(List.of(259L), foundIds(index, "пила", PageRequest.of(62, 2)));
+    }
+
+    @Test
+    void updateAndDelete() {
+        index.build();
+
+        drill.setName("Перфоратор");
+        drill.setDescription("Мощный");
+        index.update(drill);
+        assertEquals(List.of(), foundIds(index, "дрель", PageRequest.ofSize(10)));
+        assertEquals(List.of(1L), foundIds(index, "перфоратор", PageRequest.ofSize(10)));
+
+        hiddenDrill.setAvailable(true);
+        index.update(hiddenDrill);
+        assertEquals(List.of(3L), foundIds(index, "дрель", PageRequest.ofSize(10)));
+
+        // Удаленный предмет остается в списках до следующего построения, но не находится
+        stored.remove(3L);
+        assertEquals(List.of(), foundIds(index, "дрель", PageRequest.ofSize(10)));
+
+        Item saw = Item.builder().id(4L).name("Пила").description("Ручная").available(true).build();
+        stored.put(4L, saw);
+        index.update(saw);
+        assertEquals(List.of(4L), foundIds(index, "пила", PageRequest.ofSize(10)));
+    }
+
+    @Test
+    void rebuildKeepsServingAndChangesDuringBuild() {
+        index.build();
+
+        Item saw = Item.builder().id(4L).name("Пила").description("Ручная").available(true).build();
+        when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            // Пока идет построение, поиск отвечает по прежнему индексу из другого потока, не дожидаясь конца
+            List<Long> found = CompletableFuture
+                    .supplyAsync(() -> foundIds(index, "дрель", PageRequest.ofSize(10)))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(List.of(1L), found);
+
+            // Изменения, зафиксированные после чтения таблицы, не должны потеряться при подмене индекса
+            stored.put(4L, saw);
+            index.update(saw);
+            stored.remove(2L);
+            assertEquals(List.of(4L), foundIds(index, "пила", PageRequest.ofSize(10)));
+            return new PageImpl<>(List.of(drill, screwdriver, hiddenDrill));
+        });
+        index.build();
+
+        assertEquals(List.of(1L), foundIds(index, "дрель", PageRequest.ofSize(10)));
+        assertEquals(List.of(4L), foundIds(index, "пила", PageRequest.ofSize(10)));
+        assertEquals(List.of(), foundIds(index, "отвертка", PageRequest.ofSize(10)));
+    }
+}
@@ -11,7 +11,10 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingShort;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingSummary;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.RequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
@@ -30,6 +33,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -52,6 +56,8 @@ class ItemServiceImplTest {
     CommentRepository commentRepository;
     @Mock
     ItemRequestRepository requestRepository;
+    @Mock
+    ItemBookingSummaryService summaryService;
 
     static ItemDtoMapper mapper;
     static CommentDtoMapper commentDtoMapper;
@@ -85,7 +91,9 @@ class ItemServiceImplTest {
                 commentRepository,
                 requestRepository,
                 mapper,
-                commentDtoMapper);
+                commentDtoMapper,
+                new ItemSearchIndex(itemRepository, false),
+                summaryService);
 
         user = User.builder()
                 .id(1L)
@@ -148,12 +156,10 @@ class ItemServiceImplTest {
     void getItem() {
         when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
-        when(bookingRepository.findAllNextBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong()))
-                .thenReturn(new ArrayList<>());
-        when(bookingRepository.findAllLastBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong()))
+        when(bookingRepository.findNearestBookingsForItems(anyCollection(), any(LocalDateTime.class)))
                 .thenReturn(new ArrayList<>());
 
-        when(commentRepository.findAllByItem_Id(anyLong()))
+        when(commentRepository.findAllByItem_IdIn(anyCollection()))
                 .thenReturn(commentList);
 
         ItemDtoForOut result = service.getItem(1L, 1L);
@@ -166,12 +172,17 @@ class ItemServiceImplTest {
         assertEquals(item.getRequest().getId(), result.getRequestId());
         assertEquals(commentList.size(), result.getComments().size());
 
-        verify(itemRepository, times(1))
+        // Не собственник не видит бронирований
+        result = service.getItem(1L, 2L);
+
+        assertNotNull(result);
+        assertNull(result.getNextBooking());
+        assertNull(result.getLastBooking());
+
+        verify(itemRepository, times(2))
                 .findById(anyLong());
         verify(bookingRepository, times(1))
-                .findAllNextBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong());
-        verify(bookingRepository, times(1))
-                .findAllLastBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong());
+                .findNearestBookingsForItems(anyCollection(), any(LocalDateTime.class));
 
         // Для 100% покрытия Item.class
         Item testItem = Item.builder()
@@ -190,29 +201,72 @@ class ItemServiceImplTest {
     }
 
     @Test
-    void getAllItems() {
-        when(itemRepository.findAllByOwnerId(anyLong(), any(PageRequest.class)))
-                .thenReturn(itemList);
+    void getItemFromSummary() {
+        ItemBookingSummary summary = new ItemBookingSummary(1L);
+        summary.setNextBookingId(3L);
+        summary.setNextBookerId(2L);
+        summary.setNextStart(LocalDateTime.now().plusDays(1));
+        summary.setValidUntil(summary.getNextStart());
         when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
-        when(bookingRepository.findAllNextBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong()))
-                .thenReturn(new ArrayList<>());
-        when(bookingRepository.findAllLastBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong()))
+        when(summaryService.findFresh(eq(List.of(1L)), any(LocalDateTime.class)))
+                .thenReturn(Map.of(1L, summary));
+        when(commentRepository.findAllByItem_IdIn(anyCollection()))
+                .thenReturn(commentList);
+
+        ItemDtoForOut result = service.getItem(1L, 1L);
+
+        assertNotNull(result.getNextBooking());
+        assertNull(result.getLastBooking());
+        assertEquals(3L, summary.getNextBooking().getId());
+        assertEquals(2L, summary.getNextBooking().getBookerId());
+        verify(bookingRepository, never())
+                .findNearestBookingsForItems(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getAllItems() {
+        BookingShort next = mock(BookingShort.class);
+        when(next.getId()).thenReturn(2L);
+        when(next.getItemId()).thenReturn(1L);
+        when(next.getBookerId()).thenReturn(1L);
+        when(next.getStart()).thenReturn(LocalDateTime.now().plusDays(1));
+        BookingShort last = mock(BookingShort.class);
+        when(last.getId()).thenReturn(1L);
+        when(last.getItemId()).thenReturn(1L);
+        when(last.getBookerId()).thenReturn(1L);
+        when(last.getStart()).thenReturn(LocalDateTime.now().minusDays(2));
+
+        when(itemRepository.findAllByOwnerId(eq(1L), any(PageRequest.class)))
+                .thenReturn(itemList);
+        when(itemRepository.findAllByOwnerId(eq(2L), any(PageRequest.class)))
                 .thenReturn(new ArrayList<>());
+        when(bookingRepository.findNearestBookingsForItems(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(last, next));
+        when(commentRepository.findAllByItem_IdIn(anyCollection()))
+                .thenReturn(commentList);
 
         List<ItemDtoForOut> result = service.getAllItems(1L, PageRequest.ofSize(10));
 
         assertNotNull(result);
         assertEquals(itemList.size(), result.size());
+        assertNotNull(result.get(0).getNextBooking());
+        assertNotNull(result.get(0).getLastBooking());
+        assertEquals(commentList.size(), result.get(0).getComments().size());
 
-        verify(itemRepository, times(1))
+        result = service.getAllItems(2L, PageRequest.ofSize(10));
+
+        assertNotNull(result);
+        assertEquals(0, result.size());
+
+        verify(itemRepository, never())
                 .findById(anyLong());
-        verify(itemRepository, times(1))
+        verify(itemRepository, times(2))
                 .findAllByOwnerId(anyLong(), any(PageRequest.class));
         verify(bookingRepository, times(1))
-                .findAllNextBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong());
-        verify(bookingRepository, times(1))
-                .findAllLastBookingsForItem(anyLong(), any(LocalDateTime.class), anyLong());
+                .findNearestBookingsForItems(anyCollection(), any(LocalDateTime.class));
+        verify(commentRepository, times(1))
+                .findAllByItem_IdIn(anyCollection());
     }
 
     @Test
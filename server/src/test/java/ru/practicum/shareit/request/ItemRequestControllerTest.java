@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -115,7 +116,7 @@ class ItemRequestControllerTest {
     void getAllOwnRequests() throws Exception {
         List<ItemRequestDtoForOut> dtoForOutList = new ArrayList<>(Collections.singletonList(dtoForOut));
 
-        when(service.getAllOwnRequests(anyLong()))
+        when(service.getAllOwnRequests(any(Pageable.class), anyLong()))
                 .thenReturn(dtoForOutList);
 
         mvc.perform(get("/requests")
@@ -124,12 +125,24 @@ class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(gson.toJson(dtoForOutList)));
 
+        mvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("from", "2")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(gson.toJson(dtoForOutList)));
+
         mvc.perform(get("/requests")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isInternalServerError());
 
         verify(service, times(1))
-                .getAllOwnRequests(anyLong());
+                .getAllOwnRequests(Pageable.unpaged(), 1L);
+        verify(service, times(1))
+                .getAllOwnRequests(any(PageRequest.class), anyLong());
+        verify(service, times(2))
+                .getAllOwnRequests(any(Pageable.class), anyLong());
     }
 
     @Test
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.Rollback;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -71,7 +72,7 @@ class ItemRequestRepositoryTest {
     @Test
     @Rollback
     void findAllByOwner() {
-        List<ItemRequest> result = requestRepository.findAllByOwner(user2.getId());
+        List<ItemRequest> result = requestRepository.findAllByOwner(user2.getId(), PageRequest.ofSize(10));
 
         assertNotNull(result);
         assertTrue(result.contains(itemRequest2));
@@ -79,6 +80,14 @@ class ItemRequestRepositoryTest {
         assertFalse(result.contains(itemRequest1));
         assertFalse(result.contains(itemRequest3));
         assertFalse(result.contains(itemRequest5));
+
+        result = requestRepository.findAllByOwner(user2.getId(), PageRequest.ofSize(1));
+
+        assertEquals(List.of(itemRequest2), result);
+
+        result = requestRepository.findAllByOwner(user2.getId(), Pageable.unpaged());
+
+        assertEquals(List.of(itemRequest2, itemRequest4), result);
     }
 
     @Test
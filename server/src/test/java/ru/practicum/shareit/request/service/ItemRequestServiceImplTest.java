@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.RequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
@@ -165,20 +166,32 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getAllOwnRequests() {
-        when(requestRepository.findAllByOwner(anyLong()))
+        when(requestRepository.findAllByOwner(eq(1L), any(Pageable.class)))
                 .thenReturn(requestList);
+        when(requestRepository.findAllByOwner(eq(2L), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+        when(itemRepository.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(items);
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
-        List<ItemRequestDtoForOut> result = service.getAllOwnRequests(1L);
+        List<ItemRequestDtoForOut> result = service.getAllOwnRequests(PageRequest.ofSize(10), 1L);
 
         assertNotNull(result);
         assertEquals(requestDtoForOutList.size(), result.size());
+        assertEquals(items.size(), result.get(0).getItems().size());
 
-        verify(requestRepository, times(1))
-                .findAllByOwner(anyLong());
-        verify(userRepository, times(1))
+        result = service.getAllOwnRequests(Pageable.unpaged(), 2L);
+
+        assertNotNull(result);
+        assertEquals(0, result.size());
+
+        verify(requestRepository, times(2))
+                .findAllByOwner(anyLong(), any(Pageable.class));
+        verify(itemRepository, times(1))
+                .findAllByRequestIdIn(anyCollection());
+        verify(userRepository, times(2))
                 .findById(anyLong());
     }
 
@@ -186,6 +199,8 @@ class ItemRequestServiceImplTest {
     void getAllPaging() {
         when(requestRepository.findAllByRequestorIdIsNot(anyLong(), any(PageRequest.class)))
                 .thenReturn(requestList);
+        when(itemRepository.findAllByRequestIdIn(anyCollection()))
+                .thenReturn(items);
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
@@ -197,6 +212,8 @@ class ItemRequestServiceImplTest {
 
         verify(requestRepository, times(1))
                 .findAllByRequestorIdIsNot(anyLong(), any(PageRequest.class));
+        verify(itemRepository, times(1))
+                .findAllByRequestIdIn(anyCollection());
         verify(userRepository, times(1))
                 .findById(anyLong());
     }
@@ -213,7 +230,7 @@ class ItemRequestServiceImplTest {
         when(userRepository.findById(-1L))
                 .thenReturn(Optional.empty());
 
-        when(itemRepository.findAllByRequestId(anyLong()))
+        when(itemRepository.findAllByRequestIdIn(anyCollection()))
                 .thenReturn(items);
 
         ItemRequestDtoForOut result = service.getById(1L, 1L);
@@ -234,7 +251,7 @@ class ItemRequestServiceImplTest {
         verify(userRepository, times(3))
                 .findById(anyLong());
         verify(itemRepository, times(1))
-                .findAllByRequestId(anyLong());
+                .findAllByRequestIdIn(anyCollection());
 
         // Проверки для покрытия ItemRequest
         ItemRequest testRequest = request = ItemRequest.builder()
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.service.ItemBookingSummaryService;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -24,6 +25,7 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
     UserService service;
     UserRepository repository;
+    ItemBookingSummaryService summaryService;
     static UserDtoMapper mapper;
     static Gson gson;
     User user1;
@@ -57,7 +59,8 @@ class UserServiceImplTest {
                 .build();
 
         repository = mock(UserRepository.class);
-        service = new UserServiceImpl(repository, mapper);
+        summaryService = mock(ItemBookingSummaryService.class);
+        service = new UserServiceImpl(repository, mapper, summaryService);
     }
 
     @AfterEach
@@ -190,5 +193,7 @@ class UserServiceImplTest {
                 .deleteById(anyLong());
         verify(repository, times(2))
                 .existsById(anyLong());
+        verify(summaryService, times(1))
+                .invalidateForBooker(user1.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.util.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Попадания в кэш второго уровня видны в метриках без hibernate.generate_statistics.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+class SecondLevelCacheMetricsTest {
+
+    @Autowired
+    MeterRegistry registry;
+    @Autowired
+    UserRepository userRepository;
+
+    User user;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.delete(user);
+    }
+
+    @Test
+    void exportsUserCacheHits() {
+        user = userRepository.save(new User(null, "Cached", "cached@cache.metrics"));
+        double hitsBefore = hits();
+
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertTrue(hits() > hitsBefore);
+    }
+
+    private double hits() {
+        FunctionCounter hits = registry.find("cache.gets")
+                .tags("cache", "users", "result", "hit")
+                .functionCounter();
+        assertNotNull(hits);
+        return hits.count();
+    }
+}
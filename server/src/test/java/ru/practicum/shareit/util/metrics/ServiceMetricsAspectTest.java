@@ -0,0 +1,78 @@
+package ru.practicum.shareit.util.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingNotFoundException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+    SimpleMeterRegistry registry;
+    BookingService target;
+    BookingService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = mock(BookingService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(BookingService.class);
+        factory.addAspect(new ServiceMetricsAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void timesListingByState() {
+        PageRequest page = PageRequest.of(0, 10);
+        when(target.getAllOwnerItemsBooking(BookingState.PAST, 1L, page))
+                .thenReturn(List.of());
+
+        service.getAllOwnerItemsBooking(BookingState.PAST, 1L, page);
+        service.getAllOwnerItemsBooking(BookingState.PAST, 1L, page);
+
+        Timer timer = registry.find(ServiceMetricsAspect.TIMER)
+                .tags("service", "BookingService",
+                        "method", "getAllOwnerItemsBooking",
+                        "state", "PAST",
+                        "exception", ServiceMetricsAspect.NONE)
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertNull(registry.find(ServiceMetricsAspect.EXCEPTIONS).counter());
+    }
+
+    @Test
+    void countsExceptions() {
+        when(target.getBooking(anyLong(), anyLong()))
+                .thenThrow(new BookingNotFoundException("Бронирование не найдено."));
+
+        assertThrows(BookingNotFoundException.class, () -> service.getBooking(1L, 1L));
+
+        Counter counter = registry.find(ServiceMetricsAspect.EXCEPTIONS)
+                .tags("service", "BookingService",
+                        "method", "getBooking",
+                        "exception", "BookingNotFoundException")
+                .counter();
+        assertNotNull(counter);
+        assertEquals(1, counter.count());
+        Timer timer = registry.find(ServiceMetricsAspect.TIMER)
+                .tags("method", "getBooking",
+                        "state", ServiceMetricsAspect.NONE,
+                        "exception", "BookingNotFoundException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.util.sql;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatsDataSourceTest {
+    private static final String SELECT = "SELECT X FROM SYSTEM_RANGE(1, ?)";
+
+    SqlStatsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-stats");
+        dataSource = new SqlStatsDataSource(h2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStats.stop();
+    }
+
+    @Test
+    void countsStatementsAndRows() throws SQLException {
+        SqlStats stats = SqlStats.start();
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 1; i <= 3; i++) {
+                try (PreparedStatement statement = connection.prepareStatement(SELECT)) {
+                    statement.setInt(1, 5);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            assertTrue(resultSet.getInt(1) > 0);
+                        }
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                assertTrue(statement.execute("SELECT 1"));
+                try (ResultSet resultSet = statement.getResultSet()) {
+                    assertTrue(resultSet.next());
+                }
+            }
+        }
+
+        assertEquals(4, stats.getStatements());
+        assertEquals(16, stats.getRows());
+        assertTrue(stats.getJdbcNanos() > 0);
+        assertEquals(Map.of(SELECT, 3), stats.repeatedStatements(3));
+        assertTrue(stats.repeatedStatements(4).isEmpty());
+    }
+
+    @Test
+    void doesNotWrapOutsideRequest() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertEquals(JdbcConnection.class, connection.getClass());
+        }
+        assertNull(SqlStats.current());
+    }
+
+    @Test
+    void wrappedObjectsEqualThemselves() throws SQLException {
+        SqlStats.start();
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            assertEquals(connection, connection);
+            assertEquals(statement, statement);
+            assertNotEquals(connection, statement);
+        }
+    }
+}
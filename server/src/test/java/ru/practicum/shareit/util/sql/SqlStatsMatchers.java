@@ -0,0 +1,28 @@
+package ru.practicum.shareit.util.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверки MockMvc по заголовкам SqlStatsHeaderAdvice (нужен shareit.sql-stats.headers=true).
+ */
+public final class SqlStatsMatchers {
+
+    private SqlStatsMatchers() {
+    }
+
+    /**
+     * Обработка запроса выполнила не больше max SQL-запросов.
+     */
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatsHeaderAdvice.STATEMENTS_HEADER);
+            assertNotNull(header, "Нет заголовка " + SqlStatsHeaderAdvice.STATEMENTS_HEADER);
+            int statements = Integer.parseInt(header);
+            assertTrue(statements <= max, String.format("%s %s: %d SQL-запросов, допустимо не больше %d.",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), statements, max));
+        };
+    }
+}